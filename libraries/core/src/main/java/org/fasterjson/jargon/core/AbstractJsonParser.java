@@ -21,69 +21,23 @@ import org.fasterjson.jargon.core.io.JsonEOFException;
 
 abstract class AbstractJsonParser implements JsonParser {
 
-    private static final double[] POWERS_OF_TEN = {
-        1e-22,
-        1e-21,
-        1e-20,
-        1e-19,
-        1e-18,
-        1e-17,
-        1e-16,
-        1e-15,
-        1e-14,
-        1e-13,
-        1e-12,
-        1e-11,
-        1e-10,
-        1e-9,
-        1e-8,
-        1e-7,
-        1e-6,
-        1e-5,
-        1e-4,
-        1e-3,
-        1e-2,
-        1e-1,
-        1e0,
-        1e+1,
-        1e+2,
-        1e+3,
-        1e+4,
-        1e+5,
-        1e+6,
-        1e+7,
-        1e+8,
-        1e+9,
-        1e+10,
-        1e+11,
-        1e+12,
-        1e+13,
-        1e+14,
-        1e+15,
-        1e+16,
-        1e+17,
-        1e+18,
-        1e+19,
-        1e+20,
-        1e+21,
-        1e+22,
-    };
-
-    private static final int MAX_DIGITS = 38;
-
-    private static final int MAX_MANTISSA_DIGITS = 16;
-
-    private static final long MAX_MANTISSA = 9007199254740991L;
-
-    private static final int EXPONENT_OFFSET = 22;
-
-    private static final int MAX_EXPONENT = 22;
+    private static final int MAX_NUMBER_LENGTH = 1000;
+
+    private static final int MAX_SIGNIFICANT_DIGITS = 19;
+
+    private static final int MAX_EXPONENT = 100000;
+
+    // Shorter runs of ASCII text are appended char by char, which is faster
+    // than decoding them into a temporary string.
+    static final int MIN_BULK_TEXT_LENGTH = 16;
 
     private static final int HT = 0x09;
     private static final int LF = 0x0a;
     private static final int CR = 0x0d;
     private static final int SP = 0x20;
 
+    private static final int RS = 0x1e;
+
     private enum StructType {
         ARRAY,
         OBJECT,
@@ -93,6 +47,15 @@ abstract class AbstractJsonParser implements JsonParser {
     private final int maxFieldNameCapacity;
     private final int maxStringCapacity;
 
+    private final boolean zeroCopyText;
+
+    private final boolean multipleRootValues;
+
+    private final FieldNameCanonicalizer canonicalizer;
+
+    // A snapshot of the canonicalizer or a table of this parser's own.
+    private SymbolTable symbolTable;
+
     private StructType[] structTypes;
 
     private int depth;
@@ -107,14 +70,67 @@ abstract class AbstractJsonParser implements JsonParser {
     private StringBuilder fieldName;
     private StringBuilder text;
 
+    private CharSequence currentFieldName;
+    private CharSequence currentText;
+
+    private int currentFieldNameId;
+
+    // The symbol table hash of the current field name, if computed while
+    // scanning it.
+    private int fieldNameHash;
+    private boolean fieldNameHashed;
+
+    private FieldMatcher fieldMatcher;
+
+    private int matchedFieldIndex;
+
+    private boolean negative;
+
     private long mantissa;
     private int exponent;
 
+    private boolean truncated;
+
+    private boolean numberTextPending;
+
+    private boolean endOfInputReached;
+
+    private boolean skippingValue;
+
+    private int savedDepth;
+
+    private StructType savedStructType;
+
+    private int savedLastCh;
+
+    private JsonToken savedPreviousToken;
+    private JsonToken savedCurrentToken;
+
+    private CharSequence savedFieldName;
+    private CharSequence savedText;
+
+    private int savedFieldNameId;
+
+    private boolean savedNumberTextPending;
+
     AbstractJsonParser(final JsonParserConfig config) {
         maxNestingCapacity = config.getMaxNestingCapacity();
         maxFieldNameCapacity = config.getMaxFieldNameCapacity();
         maxStringCapacity = config.getMaxStringCapacity();
 
+        zeroCopyText = config.isZeroCopyText();
+
+        multipleRootValues = config.isMultipleRootValues();
+
+        canonicalizer = config.getFieldNameCanonicalizer();
+
+        if (canonicalizer != null)
+            symbolTable = canonicalizer.getSymbolTable();
+        else if (config.isSymbolTable())
+            symbolTable = new SymbolTable(FieldNameCanonicalizer.DEFAULT_MAX_SYMBOL_COUNT);
+        else
+            symbolTable = null;
+
         structTypes = new StructType[config.getMinNestingCapacity()];
 
         depth = 0;
@@ -128,6 +144,11 @@ abstract class AbstractJsonParser implements JsonParser {
 
         fieldName = new StringBuilder(config.getMinFieldNameCapacity());
         text = new StringBuilder(config.getMinStringCapacity());
+
+        currentFieldName = fieldName;
+        currentText = text;
+
+        currentFieldNameId = -1;
     }
 
     void reset() {
@@ -139,19 +160,102 @@ abstract class AbstractJsonParser implements JsonParser {
 
         previousToken = null;
         currentToken = null;
+
+        currentFieldName = fieldName;
+        currentText = text;
+
+        currentFieldNameId = -1;
+
+        numberTextPending = false;
+
+        endOfInputReached = false;
+
+        fieldMatcher = null;
+
+        if (canonicalizer != null)
+            symbolTable = canonicalizer.getSymbolTable();
+    }
+
+    /*
+     * Save the parser state before a token so that a non-blocking parser can
+     * restore it if the input ends within the token.
+     */
+    void saveState() {
+        savedDepth = depth;
+
+        savedStructType = currentStructType;
+
+        savedLastCh = lastCh;
+
+        savedPreviousToken = previousToken;
+        savedCurrentToken = currentToken;
+
+        savedFieldName = currentFieldName;
+        savedText = currentText;
+
+        savedFieldNameId = currentFieldNameId;
+
+        savedNumberTextPending = numberTextPending;
+    }
+
+    void restoreState() {
+        depth = savedDepth;
+
+        currentStructType = savedStructType;
+
+        lastCh = savedLastCh;
+
+        previousToken = savedPreviousToken;
+        currentToken = savedCurrentToken;
+
+        currentFieldName = savedFieldName;
+        currentText = savedText;
+
+        currentFieldNameId = savedFieldNameId;
+
+        numberTextPending = savedNumberTextPending;
+    }
+
+    int depth() {
+        return depth;
     }
 
     @Override
     public CharSequence currentName() {
         if (previousToken == JsonToken.FIELD_NAME)
-            return fieldName;
+            return currentFieldName;
 
         if (currentToken == JsonToken.FIELD_NAME)
-            return fieldName;
+            return currentFieldName;
 
         return null;
     }
 
+    @Override
+    public int currentNameId() {
+        if (previousToken == JsonToken.FIELD_NAME)
+            return currentFieldNameId;
+
+        if (currentToken == JsonToken.FIELD_NAME)
+            return currentFieldNameId;
+
+        return -1;
+    }
+
+    /**
+     * Return true if the end of input has been reached, that is, if the last
+     * invocation of {@link #nextToken()} returned {@code null} because there
+     * are no more tokens. If multiple root values are enabled,
+     * {@link #nextToken()} also returns {@code null} after each root value,
+     * in which case this method returns false.
+     *
+     * @return true if the end of input has been reached, otherwise false
+     * @see JsonParserConfig#isMultipleRootValues
+     */
+    public boolean isEndOfInput() {
+        return endOfInputReached;
+    }
+
     @Override
     public JsonToken currentToken() {
         return currentToken;
@@ -168,7 +272,7 @@ abstract class AbstractJsonParser implements JsonParser {
     @Override
     public double getDoubleValue() throws JsonParseException {
         if (currentToken == JsonToken.VALUE_NUMBER_FLOAT)
-            return mantissa * POWERS_OF_TEN[EXPONENT_OFFSET + exponent];
+            return toDouble();
 
         if (currentToken != JsonToken.VALUE_NUMBER_INT)
             notDoubleValue();
@@ -187,22 +291,39 @@ abstract class AbstractJsonParser implements JsonParser {
     @Override
     public CharSequence getText() {
         if (currentToken == JsonToken.VALUE_STRING)
-            return text;
+            return currentText;
 
         if (currentToken == JsonToken.FIELD_NAME)
-            return fieldName;
+            return currentFieldName;
 
         if (currentToken == null)
             return null;
 
-        if (currentToken.isNumeric())
+        if (currentToken.isNumeric()) {
+            if (numberTextPending) {
+                appendMarkedText(text);
+
+                numberTextPending = false;
+            }
+
             return text;
+        }
 
         return currentToken.asString();
     }
 
     @Override
     public JsonToken nextToken() throws IOException {
+        if (multipleRootValues && depth == 0 && currentToken != null) {
+            if (currentToken != JsonToken.END_OBJECT && currentToken != JsonToken.END_ARRAY &&
+                    currentToken != JsonToken.VALUE_STRING)
+                matchRootValueSeparator();
+
+            previousToken = null;
+
+            return currentToken = null;
+        }
+
         previousToken = currentToken;
 
         int ch;
@@ -221,6 +342,17 @@ abstract class AbstractJsonParser implements JsonParser {
 
         lastCh = -1;
 
+        if (multipleRootValues && depth == 0) {
+            while (ch == RS || isWhitespace(ch))
+                ch = nextAsciiChar();
+
+            if (ch == -1) {
+                handleEof();
+
+                return null;
+            }
+        }
+
         if (depth == 0 && previousToken != null)
             unexpectedAsciiChar(ch);
 
@@ -245,7 +377,19 @@ abstract class AbstractJsonParser implements JsonParser {
                 if (ch != '"')
                     unexpectedAsciiChar(ch);
 
-                parseText(fieldName, maxFieldNameCapacity, "field name");
+                // Drop the previous field name so that a refill while
+                // parsing this one does not materialize it.
+                currentFieldName = fieldName;
+
+                currentFieldNameId = -1;
+
+                if (fieldMatcher != null)
+                    parseMatchedFieldName();
+                else
+                    currentFieldName = parseText(fieldName, maxFieldNameCapacity, "field name", true);
+
+                if (symbolTable != null)
+                    lookupFieldName();
 
                 ch = nextNonWhitespaceAsciiChar();
                 if (ch != ':')
@@ -275,6 +419,135 @@ abstract class AbstractJsonParser implements JsonParser {
         }
     }
 
+    @Override
+    public int nextFieldName(final FieldMatcher matcher) throws IOException {
+        fieldMatcher = matcher;
+
+        matchedFieldIndex = -1;
+
+        JsonToken token;
+
+        try {
+            token = nextToken();
+        }
+        finally {
+            fieldMatcher = null;
+        }
+
+        return token == JsonToken.FIELD_NAME ? matchedFieldIndex : -1;
+    }
+
+    @Override
+    public JsonToken skipValue() throws IOException {
+        JsonToken token;
+
+        skippingValue = true;
+
+        try {
+            token = nextToken();
+        }
+        finally {
+            skippingValue = false;
+        }
+
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY)
+            return token;
+
+        skipChildren();
+
+        return currentToken;
+    }
+
+    @Override
+    public void skipChildren() throws IOException {
+        if (currentToken != JsonToken.START_OBJECT && currentToken != JsonToken.START_ARRAY)
+            return;
+
+        skipChildren(depth);
+    }
+
+    /*
+     * Skip until the struct at the specified depth ends. A non-blocking
+     * parser calls this again with the same depth to resume skipping.
+     */
+    void skipChildren(final int startDepth) throws IOException {
+        StructType structType = null;
+
+        while (depth >= startDepth) {
+            int ch = nextStructuralAsciiChar();
+
+            switch (ch) {
+            case '"':
+                skipText();
+                break;
+            case '{':
+                handleStartStruct(StructType.OBJECT);
+                break;
+            case '[':
+                handleStartStruct(StructType.ARRAY);
+                break;
+            case '}':
+                structType = StructType.OBJECT;
+
+                handleEndStruct(structType);
+                break;
+            case ']':
+                structType = StructType.ARRAY;
+
+                handleEndStruct(structType);
+                break;
+            default:
+                unexpectedEof();
+                break;
+            }
+        }
+
+        previousToken = currentToken;
+
+        currentToken = structType == StructType.OBJECT ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+    }
+
+    /*
+     * Return the next quote, brace or bracket, skipping any other characters,
+     * or -1 if there are no more characters.
+     */
+    int nextStructuralAsciiChar() throws IOException {
+        while (true) {
+            int ch = nextAsciiChar();
+
+            switch (ch) {
+            case -1:
+            case '"':
+            case '{':
+            case '[':
+            case '}':
+            case ']':
+                return ch;
+            default:
+                break;
+            }
+        }
+    }
+
+    /*
+     * Skip the rest of a field name or a string value, including the closing
+     * quote, without decoding it.
+     */
+    void skipText() throws IOException {
+        while (true) {
+            int ch = nextAsciiChar();
+
+            if (ch == '"')
+                return;
+
+            if (ch == '\\')
+                ch = nextAsciiChar();
+
+            if (ch == -1)
+                unexpectedEof();
+        }
+    }
+
     private JsonToken parseValue(final int ch) throws IOException {
         switch (ch) {
         case '{':
@@ -286,7 +559,16 @@ abstract class AbstractJsonParser implements JsonParser {
 
             return currentToken = JsonToken.START_ARRAY;
         case '"':
-            parseText(text, maxStringCapacity, "string value");
+            if (skippingValue) {
+                skipText();
+
+                text.setLength(0);
+
+                currentText = text;
+            }
+            else {
+                currentText = parseText(text, maxStringCapacity, "string value", false);
+            }
 
             return JsonToken.VALUE_STRING;
         case '0':
@@ -299,8 +581,18 @@ abstract class AbstractJsonParser implements JsonParser {
         case '7':
         case '8':
         case '9':
+            if (skippingValue)
+                return currentToken = skipNumber(ch);
+
+            markNumberText();
+
             return currentToken = parseNumber(+1, ch);
         case '-': {
+            if (skippingValue)
+                return currentToken = skipNumber(ch);
+
+            markNumberText();
+
             int firstCh = nextAsciiChar();
             if (!isDigit(firstCh))
                 unexpectedAsciiChar(firstCh);
@@ -328,7 +620,7 @@ abstract class AbstractJsonParser implements JsonParser {
 
     abstract int nextAsciiChar() throws IOException;
 
-    private int nextNonWhitespaceAsciiChar() throws IOException {
+    int nextNonWhitespaceAsciiChar() throws IOException {
         while (true) {
             int ch = nextAsciiChar();
             if (isWhitespace(ch))
@@ -362,145 +654,566 @@ abstract class AbstractJsonParser implements JsonParser {
 
     abstract void parseTrue() throws IOException;
 
-    private JsonToken parseNumber(final int signum, final int firstCh) throws IOException {
+    private void markNumberText() {
         text.setLength(0);
 
-        if (signum < 0)
-            text.append('-');
-
-        text.append((char)firstCh);
+        markText(text, 1);
+    }
 
-        mantissa = firstCh - '0';
-        exponent = 0;
+    /*
+     * Skip a number without decoding it, validating it like parseNumber.
+     */
+    private JsonToken skipNumber(final int firstCh) throws IOException {
+        JsonToken token = JsonToken.VALUE_NUMBER_INT;
 
-        int digits = 1;
+        int length = 1;
 
-        int mantissaDigits = 1;
+        int ch = firstCh;
 
-        JsonToken token = JsonToken.VALUE_NUMBER_INT;
+        if (ch == '-') {
+            ch = nextAsciiChar();
+            if (!isDigit(ch))
+                unexpectedAsciiChar(ch);
 
-        int ch = nextAsciiChar();
+            length++;
+        }
 
-        if (mantissa == 0 && isDigit(ch))
-            leadingZero();
+        int leadingCh = ch;
 
-        while (mantissaDigits < MAX_MANTISSA_DIGITS) {
-            if (!isDigit(ch))
-                break;
+        ch = nextAsciiChar();
 
-            text.append((char)ch);
+        if (leadingCh == '0') {
+            if (isDigit(ch))
+                leadingZero();
+        }
+        else {
+            while (isDigit(ch)) {
+                if (++length > MAX_NUMBER_LENGTH)
+                    tooLongNumber();
 
-            mantissa *= 10;
-            mantissa += ch - '0';
+                ch = nextAsciiChar();
+            }
+        }
 
-            digits++;
+        if (ch == '.') {
+            token = JsonToken.VALUE_NUMBER_FLOAT;
 
-            mantissaDigits++;
+            length++;
 
             ch = nextAsciiChar();
+            if (!isDigit(ch))
+                unexpectedAsciiChar(ch);
+
+            do {
+                if (++length > MAX_NUMBER_LENGTH)
+                    tooLongNumber();
+
+                ch = nextAsciiChar();
+            } while (isDigit(ch));
         }
 
-        if (ch == '0') {
+        if (ch == 'e' || ch == 'E') {
             token = JsonToken.VALUE_NUMBER_FLOAT;
 
-            text.append((char)ch);
+            length++;
 
-            digits++;
+            ch = nextAsciiChar();
 
-            exponent++;
+            if (ch == '+' || ch == '-') {
+                length++;
 
-            while (exponent <= MAX_EXPONENT) {
                 ch = nextAsciiChar();
-                if (ch != '0')
-                    break;
+            }
 
-                text.append((char)ch);
+            if (!isDigit(ch))
+                unexpectedAsciiChar(ch);
 
-                digits++;
+            do {
+                if (++length > MAX_NUMBER_LENGTH)
+                    tooLongNumber();
 
-                exponent++;
-            }
+                ch = nextAsciiChar();
+            } while (isDigit(ch));
+        }
 
-            if (ch == '0')
-                tooHighMagnitude();
+        lastCh = ch;
+
+        return token;
+    }
+
+    private JsonToken parseNumber(final int signum, final int firstCh) throws IOException {
+        int length = signum < 0 ? 2 : 1;
+
+        negative = signum < 0;
+
+        mantissa = firstCh - '0';
+        exponent = 0;
+
+        truncated = false;
+
+        int mantissaDigits = mantissa == 0 ? 0 : 1;
+
+        JsonToken token = JsonToken.VALUE_NUMBER_INT;
+
+        if (mantissa != 0) {
+            int digits = parseEightDigitRuns(mantissaDigits);
+
+            mantissaDigits += digits;
+
+            length += digits;
+        }
+
+        int ch = nextAsciiChar();
+
+        if (mantissa == 0) {
+            if (isDigit(ch))
+                leadingZero();
         }
+        else {
+            while (isDigit(ch)) {
+                length++;
 
-        if (isDigit(ch))
-            tooHighPrecision();
+                if (length > MAX_NUMBER_LENGTH)
+                    tooLongNumber();
+
+                if (mantissaDigits < MAX_SIGNIFICANT_DIGITS) {
+                    mantissa = 10 * mantissa + (ch - '0');
+
+                    mantissaDigits++;
+                }
+                else {
+                    if (ch != '0')
+                        truncated = true;
+
+                    exponent++;
+                }
+
+                ch = nextAsciiChar();
+            }
+        }
 
         if (ch == '.') {
             token = JsonToken.VALUE_NUMBER_FLOAT;
 
-            text.append('.');
+            length++;
 
             ch = nextAsciiChar();
             if (!isDigit(ch))
                 unexpectedAsciiChar(ch);
 
-            while (mantissaDigits < MAX_MANTISSA_DIGITS) {
-                text.append((char)ch);
+            do {
+                length++;
+
+                if (length > MAX_NUMBER_LENGTH)
+                    tooLongNumber();
+
+                if (mantissaDigits < MAX_SIGNIFICANT_DIGITS) {
+                    mantissa = 10 * mantissa + (ch - '0');
 
-                mantissa *= 10;
-                mantissa += ch - '0';
+                    if (mantissa != 0)
+                        mantissaDigits++;
 
-                digits++;
+                    exponent--;
+                }
+                else if (ch != '0') {
+                    truncated = true;
+                }
+
+                if (mantissa != 0) {
+                    int digits = parseEightDigitRuns(mantissaDigits);
+
+                    mantissaDigits += digits;
 
-                mantissaDigits++;
+                    exponent -= digits;
 
-                exponent--;
+                    length += digits;
+
+                    if (length > MAX_NUMBER_LENGTH)
+                        tooLongNumber();
+                }
 
                 ch = nextAsciiChar();
-                if (!isDigit(ch))
-                    break;
-            }
+            } while (isDigit(ch));
+        }
 
-            while (digits <= MAX_DIGITS) {
-                if (!isDigit(ch))
-                    break;
+        if (ch == 'e' || ch == 'E') {
+            token = JsonToken.VALUE_NUMBER_FLOAT;
 
-                if (ch != '0')
-                    tooHighPrecision();
+            length++;
 
-                text.append((char)ch);
+            ch = nextAsciiChar();
+
+            int exponentSignum = +1;
+
+            if (ch == '+' || ch == '-') {
+                length++;
 
-                digits++;
+                if (ch == '-')
+                    exponentSignum = -1;
 
                 ch = nextAsciiChar();
             }
-        }
 
-        if (mantissa > MAX_MANTISSA)
-            tooHighPrecision();
+            if (!isDigit(ch))
+                unexpectedAsciiChar(ch);
+
+            int explicitExponent = 0;
+
+            do {
+                length++;
+
+                if (length > MAX_NUMBER_LENGTH)
+                    tooLongNumber();
+
+                if (explicitExponent < MAX_EXPONENT)
+                    explicitExponent = 10 * explicitExponent + (ch - '0');
+
+                ch = nextAsciiChar();
+            } while (isDigit(ch));
+
+            exponent += exponentSignum * explicitExponent;
+        }
 
         lastCh = ch;
 
-        if (signum < 0)
-            mantissa = -mantissa;
+        unmarkText(ch == -1 ? 0 : 1);
+
+        numberTextPending = true;
+
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            if (exponent > 0 || Long.compareUnsigned(mantissa, Long.MIN_VALUE) > 0)
+                tooHighMagnitude();
+
+            if (mantissa == Long.MIN_VALUE && signum > 0)
+                tooHighMagnitude();
+
+            if (signum < 0)
+                mantissa = -mantissa;
+        }
 
         return token;
     }
 
-    private void parseText(final StringBuilder text, final int maxTextCapacity,
-            final String textType) throws IOException {
+    /*
+     * Parse runs of eight digits into the mantissa while they fit into it and
+     * return the number of digits parsed.
+     */
+    private int parseEightDigitRuns(final int mantissaDigits) {
+        int digits = 0;
+
+        while (mantissaDigits + digits <= MAX_SIGNIFICANT_DIGITS - 8) {
+            int value = nextEightDigits();
+            if (value == -1)
+                break;
+
+            mantissa = 100000000 * mantissa + value;
+
+            digits += 8;
+        }
+
+        return digits;
+    }
+
+    /*
+     * Return the value of the next eight characters and consume them if they
+     * are all digits within the buffer. Otherwise return -1 without consuming
+     * anything.
+     */
+    int nextEightDigits() {
+        return -1;
+    }
+
+    abstract void markText(StringBuilder text, int offset);
+
+    abstract void unmarkText(int offset);
+
+    abstract void appendMarkedText(StringBuilder text);
+
+    private double toDouble() {
+        double value = DoubleConverter.toDouble(negative, mantissa, exponent);
+
+        // If digits were dropped from the mantissa, the exact value lies
+        // between the mantissa and the mantissa plus one. Fall back to the
+        // slow path if these round differently.
+        if (truncated && value != DoubleConverter.toDouble(negative, mantissa + 1, exponent))
+            return Double.parseDouble(getText().toString());
+
+        return value;
+    }
+
+    private void parseMatchedFieldName() throws IOException {
+        int index = matchFieldName(fieldMatcher);
+
+        if (index != -1) {
+            currentFieldName = fieldMatcher.getName(index);
+
+            if (currentFieldName.length() > maxFieldNameCapacity)
+                tooLongText("field name");
+        }
+        else {
+            currentFieldName = parseText(fieldName, maxFieldNameCapacity, "field name", true);
+
+            index = fieldMatcher.match(currentFieldName);
+        }
+
+        matchedFieldIndex = index;
+    }
+
+    /*
+     * Match a field name that lies entirely within the buffer and contains
+     * no escape sequences or control characters against a field matcher. If
+     * there is a match, consume the field name including the closing quote
+     * and return the index of the match. Otherwise consume nothing and
+     * return -1.
+     */
+    int matchFieldName(final FieldMatcher matcher) {
+        return -1;
+    }
+
+    private void lookupFieldName() {
+        int id;
+
+        int hash = fieldNameHashed ? fieldNameHash : SymbolTable.hash(currentFieldName);
+
+        fieldNameHashed = false;
+
+        if (canonicalizer != null) {
+            id = symbolTable.find(currentFieldName, hash);
+
+            // A full snapshot stays full, so stop adding to it unless the
+            // canonicalizer resets.
+            if (id == -1 && (!symbolTable.isFull() || canonicalizer.isResetWhenFull())) {
+                id = canonicalizer.add(currentFieldName);
+
+                symbolTable = canonicalizer.getSymbolTable();
+            }
+        }
+        else {
+            id = symbolTable.lookup(currentFieldName, hash);
+        }
+
+        if (id != -1) {
+            currentFieldName = symbolTable.symbol(id);
+
+            currentFieldNameId = id;
+        }
+        else if (!zeroCopyText && currentFieldName != fieldName) {
+            fieldName.setLength(0);
+            fieldName.append(currentFieldName);
+
+            currentFieldName = fieldName;
+        }
+    }
+
+    private CharSequence parseText(final StringBuilder text, final int maxTextCapacity,
+            final String textType, final boolean isFieldName) throws IOException {
+        CharSequence view = null;
+
+        // The symbol table looks up field names without copying them, using
+        // a hash computed while scanning them.
+        if (isFieldName && symbolTable != null) {
+            fieldNameHashed = false;
+
+            view = nextHashedFieldNameView();
+        }
+        else if (zeroCopyText) {
+            view = nextTextView(isFieldName);
+        }
+
+        if (view != null) {
+            if (view.length() > maxTextCapacity)
+                tooLongText(textType);
+
+            return view;
+        }
+
         text.setLength(0);
 
-        int count = 0;
+        while (true) {
+            int ch = nextTextChar(text);
 
-        int ch;
+            if (text.length() > maxTextCapacity)
+                tooLongText(textType);
 
-        while ((ch = nextAsciiChar()) != -1) {
             if (ch == '"')
-                return;
+                return text;
+
+            if (ch == '\\')
+                parseEscape(text);
+            else if (ch == -1)
+                unexpectedEof();
+            else if (ch < SP)
+                unexpectedControlChar();
+            else if (ch < 0x80)
+                text.append((char)ch);
+            else
+                parseNonAsciiChar(text, ch);
+        }
+    }
 
-            count++;
-            if (count > maxTextCapacity)
-                tooLongText(textType);
+    int nextTextChar(final StringBuilder text) throws IOException {
+        return nextAsciiChar();
+    }
+
+    CharSequence nextTextView(final boolean isFieldName) {
+        return null;
+    }
+
+    /*
+     * Return a view of a field name like nextTextView, computing its symbol
+     * table hash while scanning it and passing it to setFieldNameHash.
+     */
+    CharSequence nextHashedFieldNameView() {
+        return null;
+    }
 
-            text.append((char)ch);
+    void setFieldNameHash(final int hash) {
+        fieldNameHash = hash;
+
+        fieldNameHashed = true;
+    }
+
+    void beforeRefill() {
+        if (currentFieldName != fieldName && currentFieldNameId == -1) {
+            fieldName.setLength(0);
+            fieldName.append(currentFieldName);
+
+            currentFieldName = fieldName;
         }
+    }
+
+    private void parseEscape(final StringBuilder text) throws IOException {
+        int ch = nextAsciiChar();
 
+        switch (ch) {
+        case '"':
+            text.append('"');
+            break;
+        case '\\':
+            text.append('\\');
+            break;
+        case '/':
+            text.append('/');
+            break;
+        case 'b':
+            text.append('\b');
+            break;
+        case 'f':
+            text.append('\f');
+            break;
+        case 'n':
+            text.append('\n');
+            break;
+        case 'r':
+            text.append('\r');
+            break;
+        case 't':
+            text.append('\t');
+            break;
+        case 'u':
+            parseUnicodeEscape(text);
+            break;
+        case -1:
+            unexpectedEof();
+            break;
+        default:
+            invalidEscape();
+            break;
+        }
+    }
+
+    private void parseUnicodeEscape(final StringBuilder text) throws IOException {
+        char ch = (char)parseHexQuad();
+
+        if (Character.isHighSurrogate(ch)) {
+            if (nextAsciiChar() != '\\' || nextAsciiChar() != 'u')
+                invalidSurrogatePair();
+
+            char lowCh = (char)parseHexQuad();
+            if (!Character.isLowSurrogate(lowCh))
+                invalidSurrogatePair();
+
+            text.append(ch);
+            text.append(lowCh);
+        }
+        else {
+            if (Character.isLowSurrogate(ch))
+                invalidSurrogatePair();
+
+            text.append(ch);
+        }
+    }
+
+    private int parseHexQuad() throws IOException {
+        int value = 0;
+
+        for (int i = 0; i < 4; i++) {
+            int ch = nextAsciiChar();
+            if (ch == -1)
+                unexpectedEof();
+
+            int digit = Character.digit(ch, 16);
+            if (digit == -1 || ch >= 0x80)
+                invalidEscape();
+
+            value = value << 4 | digit;
+        }
+
+        return value;
+    }
+
+    abstract void parseNonAsciiChar(StringBuilder text, int ch) throws IOException;
+
+    void parseUtf8Char(final StringBuilder text, final int firstCh) throws IOException {
+        int codePoint;
+
+        if (firstCh < 0xc2) {
+            invalidUtf8();
+
+            return;
+        }
+        else if (firstCh < 0xe0) {
+            codePoint = (firstCh & 0x1f) << 6 | nextUtf8Continuation(0x80, 0xbf);
+        }
+        else if (firstCh < 0xf0) {
+            int min = firstCh == 0xe0 ? 0xa0 : 0x80;
+            int max = firstCh == 0xed ? 0x9f : 0xbf;
+
+            codePoint = (firstCh & 0x0f) << 12 | nextUtf8Continuation(min, max) << 6;
+            codePoint |= nextUtf8Continuation(0x80, 0xbf);
+        }
+        else if (firstCh < 0xf5) {
+            int min = firstCh == 0xf0 ? 0x90 : 0x80;
+            int max = firstCh == 0xf4 ? 0x8f : 0xbf;
+
+            codePoint = (firstCh & 0x07) << 18 | nextUtf8Continuation(min, max) << 12;
+            codePoint |= nextUtf8Continuation(0x80, 0xbf) << 6;
+            codePoint |= nextUtf8Continuation(0x80, 0xbf);
+        }
+        else {
+            invalidUtf8();
+
+            return;
+        }
+
+        if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            text.append((char)codePoint);
+        }
+        else {
+            text.append(Character.highSurrogate(codePoint));
+            text.append(Character.lowSurrogate(codePoint));
+        }
+    }
+
+    private int nextUtf8Continuation(final int min, final int max) throws IOException {
+        int ch = nextAsciiChar();
         if (ch == -1)
             unexpectedEof();
+
+        if (ch < min || ch > max)
+            invalidUtf8();
+
+        return ch & 0x3f;
     }
 
     void handleEof() throws JsonParseException {
@@ -508,6 +1221,22 @@ abstract class AbstractJsonParser implements JsonParser {
             unexpectedEof();
 
         currentToken = null;
+
+        endOfInputReached = true;
+    }
+
+    /*
+     * Require whitespace, a record separator or the end of input after a
+     * root value that is a number or a literal, so that "truefalse" is not
+     * read as two root values.
+     */
+    private void matchRootValueSeparator() throws IOException {
+        int ch = lastCh != -1 ? lastCh : nextAsciiChar();
+
+        if (ch != -1 && ch != RS && !isWhitespace(ch))
+            unexpectedAsciiChar(ch);
+
+        lastCh = ch;
     }
 
     private void increaseNestingCapacity() throws JsonParseException {
@@ -535,7 +1264,7 @@ abstract class AbstractJsonParser implements JsonParser {
         return '0' <= ch && ch <= '9';
     }
 
-    private static boolean isWhitespace(final int ch) {
+    static boolean isWhitespace(final int ch) {
         return ch == SP || ch == LF || ch == CR || ch == HT;
     }
 
@@ -570,14 +1299,30 @@ abstract class AbstractJsonParser implements JsonParser {
         parseError("Leading zero in numeric value");
     }
 
-    private static void tooHighPrecision() throws JsonParseException {
-        parseError("Too high precision in numeric value");
-    }
-
     private static void tooHighMagnitude() throws JsonParseException {
         parseError("Too high magnitude in numeric value");
     }
 
+    private static void tooLongNumber() throws JsonParseException {
+        parseError("Too long numeric value");
+    }
+
+    private static void unexpectedControlChar() throws JsonParseException {
+        parseError("Unexpected control character");
+    }
+
+    private static void invalidEscape() throws JsonParseException {
+        parseError("Invalid escape sequence");
+    }
+
+    private static void invalidSurrogatePair() throws JsonParseException {
+        parseError("Invalid surrogate pair");
+    }
+
+    private static void invalidUtf8() throws JsonParseException {
+        parseError("Invalid UTF-8 sequence");
+    }
+
     private static void tooLongText(final String textType) throws JsonParseException {
         parseError("Too long " + textType);
     }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+import static java.nio.charset.StandardCharsets.*;
+
+/*
+ * A reusable view of ASCII characters in a byte array.
+ */
+final class AsciiView implements CharSequence {
+
+    private byte[] bytes;
+
+    private int offset;
+
+    private int length;
+
+    void reset(final byte[] bytes, final int offset, final int length) {
+        this.bytes = bytes;
+
+        this.offset = offset;
+
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException();
+
+        return (char)bytes[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, offset, length, US_ASCII);
+    }
+
+}
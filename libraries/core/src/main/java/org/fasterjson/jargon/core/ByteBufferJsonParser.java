@@ -0,0 +1,347 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+import static java.nio.charset.StandardCharsets.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * <p>A JSON parser that reads from a byte buffer in place.</p>
+ *
+ * <p>The parser reads the bytes between the position and the limit of the
+ * buffer without copying them into a buffer of its own. It works with both
+ * heap and direct byte buffers, including byte buffer views of off-heap
+ * memory. It does not modify the position, the limit or the byte order of
+ * the buffer.</p>
+ *
+ * <p>The buffer size configuration has no effect on this parser.</p>
+ */
+public class ByteBufferJsonParser extends AbstractJsonParser {
+
+    private static final ByteBuffer EMPTY_INPUT = ByteBuffer.allocate(0);
+
+    private static final int SP = 0x20;
+
+    private final ByteBufferAsciiView fieldNameView;
+    private final ByteBufferAsciiView textView;
+
+    private ByteBuffer input;
+    private ByteBuffer inputView;
+
+    private byte[] textBytes;
+
+    private boolean bigEndian;
+
+    private int index;
+
+    private int limit;
+
+    private int markIndex;
+
+    private int markedTextStart;
+    private int markedTextEnd;
+
+    /**
+     * Construct a new instance using the default configuration.
+     */
+    public ByteBufferJsonParser() {
+        this(JsonParserConfig.DEFAULTS);
+    }
+
+    /**
+     * Construct a new instance using a custom configuration.
+     *
+     * @param config the configuration
+     */
+    public ByteBufferJsonParser(final JsonParserConfig config) {
+        super(config);
+
+        fieldNameView = new ByteBufferAsciiView();
+        textView = new ByteBufferAsciiView();
+
+        textBytes = new byte[0];
+
+        reset(EMPTY_INPUT);
+    }
+
+    /**
+     * <p>Reset this instance.</p>
+     *
+     * <p>The buffer must not be modified while this instance reads from
+     * it.</p>
+     *
+     * @param input the input document
+     */
+    public void reset(final ByteBuffer input) {
+        super.reset();
+
+        this.input = input;
+        this.inputView = input.hasArray() ? null : input.duplicate();
+
+        this.bigEndian = input.order() == ByteOrder.BIG_ENDIAN;
+
+        this.index = input.position();
+
+        this.limit = input.limit();
+    }
+
+    @Override
+    void parseFalse() throws IOException {
+        ensure(4);
+
+        matchAsciiChar('a');
+        matchAsciiChar('l');
+        matchAsciiChar('s');
+        matchAsciiChar('e');
+    }
+
+    @Override
+    void parseNull() throws IOException {
+        ensure(3);
+
+        matchAsciiChar('u');
+        matchAsciiChar('l');
+        matchAsciiChar('l');
+    }
+
+    @Override
+    void parseTrue() throws IOException {
+        ensure(3);
+
+        matchAsciiChar('r');
+        matchAsciiChar('u');
+        matchAsciiChar('e');
+    }
+
+    @Override
+    void parseNonAsciiChar(final StringBuilder text, final int ch) throws IOException {
+        parseUtf8Char(text, ch);
+    }
+
+    @Override
+    int nextTextChar(final StringBuilder text) throws IOException {
+        int start = index;
+        int end = scanText(start);
+
+        if (end - start >= MIN_BULK_TEXT_LENGTH) {
+            appendText(text, start, end);
+        }
+        else {
+            for (int i = start; i < end; i++)
+                text.append((char)input.get(i));
+        }
+
+        index = end;
+
+        return nextAsciiChar();
+    }
+
+    private void appendText(final StringBuilder text, final int start, final int end) {
+        int length = end - start;
+
+        if (input.hasArray()) {
+            text.append(new String(input.array(), input.arrayOffset() + start, length, ISO_8859_1));
+
+            return;
+        }
+
+        if (textBytes.length < length)
+            textBytes = new byte[Math.max(length, 2 * textBytes.length)];
+
+        // Copy through a duplicate, as the position of the input must not change.
+        inputView.position(start);
+        inputView.get(textBytes, 0, length);
+
+        text.append(new String(textBytes, 0, length, ISO_8859_1));
+    }
+
+    @Override
+    CharSequence nextTextView(final boolean isFieldName) {
+        int end = scanText(index);
+
+        if (end >= limit || input.get(end) != '"')
+            return null;
+
+        ByteBufferAsciiView view = isFieldName ? fieldNameView : textView;
+
+        view.reset(input, index, end - index);
+
+        index = end + 1;
+
+        return view;
+    }
+
+    @Override
+    CharSequence nextHashedFieldNameView() {
+        int hash = 0;
+
+        int end = index;
+
+        while (end < limit) {
+            // Non-ASCII bytes are negative and end the run, too.
+            byte ch = input.get(end);
+            if (ch < SP || ch == '"' || ch == '\\')
+                break;
+
+            hash = SymbolTable.hash(hash, ch);
+
+            end++;
+        }
+
+        if (end >= limit || input.get(end) != '"')
+            return null;
+
+        fieldNameView.reset(input, index, end - index);
+
+        index = end + 1;
+
+        setFieldNameHash(hash);
+
+        return fieldNameView;
+    }
+
+    @Override
+    int matchFieldName(final FieldMatcher matcher) {
+        int end = index;
+
+        while (end < limit) {
+            byte ch = input.get(end);
+            if (ch == '"')
+                break;
+
+            // Non-ASCII bytes are negative and compared as is.
+            if (ch >= 0 && ch < SP || ch == '\\')
+                return -1;
+
+            end++;
+        }
+
+        if (end >= limit)
+            return -1;
+
+        int match = matcher.match(input, index, end - index);
+        if (match != -1)
+            index = end + 1;
+
+        return match;
+    }
+
+    @Override
+    int nextNonWhitespaceAsciiChar() throws IOException {
+        while (index < limit) {
+            int ch = input.get(index++) & 0xff;
+            if (!isWhitespace(ch))
+                return ch;
+
+            while (index <= limit - 8) {
+                long mask = ~Swar.whitespaceBytes(getLong(index)) & Swar.HIGH_BITS;
+                if (mask != 0) {
+                    index += Swar.firstByte(mask);
+
+                    break;
+                }
+
+                index += 8;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    int nextEightDigits() {
+        if (index > limit - 8)
+            return -1;
+
+        long word = getLong(index);
+        if (!Swar.isEightDigits(word))
+            return -1;
+
+        index += 8;
+
+        return Swar.parseEightDigits(word);
+    }
+
+    @Override
+    void markText(final StringBuilder text, final int offset) {
+        markIndex = index - offset;
+    }
+
+    @Override
+    void unmarkText(final int offset) {
+        markedTextStart = markIndex;
+        markedTextEnd = index - offset;
+    }
+
+    @Override
+    void appendMarkedText(final StringBuilder text) {
+        for (int i = markedTextStart; i < markedTextEnd; i++)
+            text.append((char)input.get(i));
+    }
+
+    @Override
+    int nextAsciiChar() {
+        if (index < limit)
+            return input.get(index++) & 0xff;
+
+        return -1;
+    }
+
+    private int scanText(final int start) {
+        int end = start;
+
+        while (end <= limit - 8) {
+            long mask = Swar.textEndBytes(getLong(end));
+            if (mask != 0)
+                return end + Swar.firstByte(mask);
+
+            end += 8;
+        }
+
+        while (end < limit) {
+            // Non-ASCII bytes are negative and end the run, too.
+            byte ch = input.get(end);
+            if (ch < SP || ch == '"' || ch == '\\')
+                break;
+
+            end++;
+        }
+
+        return end;
+    }
+
+    private long getLong(final int index) {
+        long word = input.getLong(index);
+
+        return bigEndian ? Long.reverseBytes(word) : word;
+    }
+
+    private void matchAsciiChar(final char expectedCh) throws IOException {
+        int actualCh = input.get(index++) & 0xff;
+
+        if (actualCh != expectedCh)
+            unexpectedAsciiChar(actualCh, expectedCh);
+    }
+
+    private void ensure(final int count) throws IOException {
+        if (limit - index < count)
+            unexpectedEof();
+    }
+
+}
@@ -15,6 +15,8 @@
  */
 package org.fasterjson.jargon.core;
 
+import static java.nio.charset.StandardCharsets.*;
+
 import java.io.IOException;
 import org.fasterjson.jargon.core.io.ByteArraySource;
 import org.fasterjson.jargon.core.io.ByteSource;
@@ -37,7 +39,24 @@ public class ByteJsonParser extends AbstractJsonParser {
 
     };
 
-    private final byte[] buffer;
+    private static final int SP = 0x20;
+
+    private static final int WHITESPACE = 1;
+    private static final int TEXT_END = 2;
+    private static final int SKIPPED_STRUCT_END = 4;
+    private static final int SKIPPED_TEXT_END = 8;
+
+    // The character classes of all byte values, indexed by unsigned value.
+    private static final byte[] CHAR_CLASSES = charClasses();
+
+    private final byte[] defaultBuffer;
+
+    private byte[] buffer;
+
+    private final AsciiView fieldNameView;
+    private final AsciiView textView;
+
+    private final StructuralIndex structuralIndex;
 
     private int length;
 
@@ -45,6 +64,15 @@ public class ByteJsonParser extends AbstractJsonParser {
 
     private ByteSource source;
 
+    private boolean inPlace;
+
+    private StringBuilder markedText;
+
+    private int markIndex;
+
+    private int markedTextStart;
+    private int markedTextEnd;
+
     /**
      * Construct a new instance using the default configuration.
      */
@@ -60,24 +88,58 @@ public class ByteJsonParser extends AbstractJsonParser {
     public ByteJsonParser(final JsonParserConfig config) {
         super(config);
 
-        buffer = new byte[config.getBufferSize()];
+        defaultBuffer = new byte[config.getBufferSize()];
+
+        fieldNameView = new AsciiView();
+        textView = new AsciiView();
+
+        structuralIndex = config.isStructuralIndex() ? StructuralIndex.create(defaultBuffer.length) : null;
 
         reset(EMPTY_SOURCE);
     }
 
     /**
-     * Reset this instance.
+     * <p>Reset this instance.</p>
+     *
+     * <p>If the source is a {@link ByteArraySource}, this instance parses
+     * the remaining input in place instead of copying it into its buffer. In
+     * that case, the input must not be modified while this instance reads
+     * from it.</p>
      *
      * @param source the source
      */
     public void reset(final ByteSource source) {
         super.reset();
 
-        this.length = 0;
+        if (source instanceof ByteArraySource) {
+            ByteArraySource arraySource = (ByteArraySource)source;
+
+            this.buffer = arraySource.getInput();
+
+            this.length = arraySource.getInputOffset() + arraySource.getInputLength();
+
+            this.index = arraySource.getInputOffset();
+
+            this.source = EMPTY_SOURCE;
+
+            this.inPlace = true;
+        }
+        else {
+            this.buffer = defaultBuffer;
 
-        this.index = 0;
+            this.length = 0;
 
-        this.source = source;
+            this.index = 0;
+
+            this.source = source;
+
+            this.inPlace = false;
+        }
+
+        this.markedText = null;
+
+        if (structuralIndex != null)
+            structuralIndex.clear();
     }
 
     @Override
@@ -108,22 +170,300 @@ public class ByteJsonParser extends AbstractJsonParser {
         matchAsciiChar('e');
     }
 
+    @Override
+    void parseNonAsciiChar(final StringBuilder text, final int ch) throws IOException {
+        parseUtf8Char(text, ch);
+    }
+
+    @Override
+    int nextTextChar(final StringBuilder text) throws IOException {
+        int start = index;
+        int end = scanText(start);
+
+        if (end - start >= MIN_BULK_TEXT_LENGTH) {
+            text.append(new String(buffer, start, end - start, ISO_8859_1));
+        }
+        else {
+            for (int i = start; i < end; i++)
+                text.append((char)buffer[i]);
+        }
+
+        index = end;
+
+        return nextAsciiChar();
+    }
+
+    @Override
+    CharSequence nextTextView(final boolean isFieldName) {
+        int end = scanText(index);
+
+        if (end >= length || buffer[end] != '"')
+            return null;
+
+        AsciiView view = isFieldName ? fieldNameView : textView;
+
+        view.reset(buffer, index, end - index);
+
+        index = end + 1;
+
+        return view;
+    }
+
+    @Override
+    CharSequence nextHashedFieldNameView() {
+        int hash = 0;
+
+        int end = index;
+
+        while (end < length) {
+            int ch = buffer[end] & 0xff;
+            if ((CHAR_CLASSES[ch] & TEXT_END) != 0)
+                break;
+
+            hash = SymbolTable.hash(hash, ch);
+
+            end++;
+        }
+
+        if (end >= length || buffer[end] != '"')
+            return null;
+
+        fieldNameView.reset(buffer, index, end - index);
+
+        index = end + 1;
+
+        setFieldNameHash(hash);
+
+        return fieldNameView;
+    }
+
+    @Override
+    int matchFieldName(final FieldMatcher matcher) {
+        int end = index;
+
+        while (end < length) {
+            byte ch = buffer[end];
+            if (ch == '"')
+                break;
+
+            // Non-ASCII bytes are negative and compared as is.
+            if (ch >= 0 && ch < SP || ch == '\\')
+                return -1;
+
+            end++;
+        }
+
+        if (end >= length)
+            return -1;
+
+        int match = matcher.match(buffer, index, end - index);
+        if (match != -1)
+            index = end + 1;
+
+        return match;
+    }
+
+    /*
+     * Return the index of the first byte that ends a run of text, starting
+     * from the specified index, or the buffer length if there is none.
+     */
+    private int scanText(final int start) {
+        int end = start;
+
+        while (end <= length - 8) {
+            long mask = Swar.textEndBytes(Swar.getLong(buffer, end));
+            if (mask != 0)
+                return end + Swar.firstByte(mask);
+
+            end += 8;
+        }
+
+        while (end < length && (CHAR_CLASSES[buffer[end] & 0xff] & TEXT_END) == 0)
+            end++;
+
+        return end;
+    }
+
+    @Override
+    int nextStructuralAsciiChar() throws IOException {
+        while (true) {
+            while (index <= length - 8) {
+                long mask = Swar.structuralBytes(Swar.getLong(buffer, index));
+                if (mask != 0) {
+                    index += Swar.firstByte(mask);
+
+                    return buffer[index++] & 0xff;
+                }
+
+                index += 8;
+            }
+
+            while (index < length) {
+                int ch = buffer[index++] & 0xff;
+                if ((CHAR_CLASSES[ch] & SKIPPED_STRUCT_END) != 0)
+                    return ch;
+            }
+
+            int ch = nextAsciiCharSlowPath();
+            if (ch == -1 || (CHAR_CLASSES[ch] & SKIPPED_STRUCT_END) != 0)
+                return ch;
+        }
+    }
+
+    @Override
+    void skipText() throws IOException {
+        while (true) {
+            int ch = nextQuoteOrBackslash();
+
+            if (ch == '"')
+                return;
+
+            if (ch == -1 || nextAsciiChar() == -1)
+                unexpectedEof();
+        }
+    }
+
+    private int nextQuoteOrBackslash() throws IOException {
+        while (true) {
+            while (index <= length - 8) {
+                long word = Swar.getLong(buffer, index);
+
+                long mask = Swar.equalBytes(word, '"') | Swar.equalBytes(word, '\\');
+                if (mask != 0) {
+                    index += Swar.firstByte(mask);
+
+                    return buffer[index++] & 0xff;
+                }
+
+                index += 8;
+            }
+
+            while (index < length) {
+                int ch = buffer[index++] & 0xff;
+                if ((CHAR_CLASSES[ch] & SKIPPED_TEXT_END) != 0)
+                    return ch;
+            }
+
+            int ch = nextAsciiCharSlowPath();
+            if (ch == -1 || (CHAR_CLASSES[ch] & SKIPPED_TEXT_END) != 0)
+                return ch;
+        }
+    }
+
+    @Override
+    int nextEightDigits() {
+        if (index > length - 8)
+            return -1;
+
+        long word = Swar.getLong(buffer, index);
+        if (!Swar.isEightDigits(word))
+            return -1;
+
+        index += 8;
+
+        return Swar.parseEightDigits(word);
+    }
+
+    @Override
+    void markText(final StringBuilder text, final int offset) {
+        markedText = text;
+
+        markIndex = index - offset;
+    }
+
+    @Override
+    void unmarkText(final int offset) {
+        markedText = null;
+
+        markedTextStart = markIndex;
+        markedTextEnd = index - offset;
+    }
+
+    @Override
+    void appendMarkedText(final StringBuilder text) {
+        for (int i = markedTextStart; i < markedTextEnd; i++)
+            text.append((char)buffer[i]);
+    }
+
     @Override
     int nextAsciiChar() throws IOException {
         if (index < length)
-            return buffer[index++];
+            return buffer[index++] & 0xff;
 
         return nextAsciiCharSlowPath();
     }
 
+    @Override
+    int nextNonWhitespaceAsciiChar() throws IOException {
+        while (true) {
+            if (index < length) {
+                int ch = buffer[index] & 0xff;
+                if ((CHAR_CLASSES[ch] & WHITESPACE) == 0) {
+                    index++;
+
+                    return ch;
+                }
+
+                if (structuralIndex != null)
+                    skipWhitespaceUsingIndex();
+                else
+                    skipWhitespace();
+
+                if (index < length)
+                    return buffer[index++] & 0xff;
+            }
+
+            int ch = nextAsciiCharSlowPath();
+            if (ch == -1 || (CHAR_CLASSES[ch] & WHITESPACE) == 0)
+                return ch;
+        }
+    }
+
+    private void skipWhitespaceUsingIndex() {
+        if (!structuralIndex.covers(index))
+            structuralIndex.build(buffer, index, length);
+
+        index = structuralIndex.next(index);
+    }
+
+    private void skipWhitespace() {
+        int i = index + 1;
+
+        while (i <= length - 8) {
+            long mask = ~Swar.whitespaceBytes(Swar.getLong(buffer, i)) & Swar.HIGH_BITS;
+            if (mask != 0) {
+                index = i + Swar.firstByte(mask);
+
+                return;
+            }
+
+            i += 8;
+        }
+
+        while (i < length && (CHAR_CLASSES[buffer[i] & 0xff] & WHITESPACE) != 0)
+            i++;
+
+        index = i;
+    }
+
     private int nextAsciiCharSlowPath() throws IOException {
         if (length == -1)
             return -1;
 
+        beforeRefill();
+
+        spillMarkedText(length);
+
+        if (structuralIndex != null)
+            structuralIndex.clear();
+
         while (true) {
             length = source.read(buffer, 0);
-            if (length == -1)
+            if (length == -1) {
+                index = 0;
+
                 return -1;
+            }
 
             if (length == 0)
                 continue;
@@ -133,25 +473,37 @@ public class ByteJsonParser extends AbstractJsonParser {
 
         index = 1;
 
-        return buffer[0];
+        return buffer[0] & 0xff;
     }
 
     private void matchAsciiChar(final char expectedCh) throws IOException {
-        byte actualCh = buffer[index++];
+        int actualCh = buffer[index++] & 0xff;
 
         if (actualCh != expectedCh)
             unexpectedAsciiChar(actualCh, expectedCh);
     }
 
     private void ensure(final int count) throws IOException {
-        if (length - index < count)
+        if (length - index < count) {
+            // Never compact the input of an in-place source.
+            if (inPlace)
+                unexpectedEof();
+
             fill();
+        }
 
         if (length < count)
             unexpectedEof();
     }
 
     private void fill() throws IOException {
+        beforeRefill();
+
+        spillMarkedText(index);
+
+        if (structuralIndex != null)
+            structuralIndex.clear();
+
         int remaining = length - index;
         if (remaining > 0)
             System.arraycopy(buffer, index, buffer, 0, remaining);
@@ -169,4 +521,39 @@ public class ByteJsonParser extends AbstractJsonParser {
         length += remaining;
     }
 
+    private void spillMarkedText(final int end) {
+        if (markedText == null)
+            return;
+
+        for (int i = markIndex; i < end; i++)
+            markedText.append((char)buffer[i]);
+
+        markIndex = 0;
+    }
+
+    private static byte[] charClasses() {
+        byte[] classes = new byte[256];
+
+        for (int ch = 0; ch < classes.length; ch++) {
+            int charClass = 0;
+
+            if (isWhitespace(ch))
+                charClass |= WHITESPACE;
+
+            // Non-ASCII bytes end a run of text, too.
+            if (ch < SP || ch == '"' || ch == '\\' || ch >= 0x80)
+                charClass |= TEXT_END;
+
+            if (ch == '"' || ch == '{' || ch == '[' || ch == '}' || ch == ']')
+                charClass |= SKIPPED_STRUCT_END;
+
+            if (ch == '"' || ch == '\\')
+                charClass |= SKIPPED_TEXT_END;
+
+            classes[ch] = (byte)charClass;
+        }
+
+        return classes;
+    }
+
 }
@@ -39,7 +39,14 @@ public class CharJsonParser extends AbstractJsonParser {
 
     };
 
-    private final char[] buffer;
+    private static final int SP = 0x20;
+
+    private final char[] defaultBuffer;
+
+    private char[] buffer;
+
+    private final CharArrayView fieldNameView;
+    private final CharArrayView textView;
 
     private int length;
 
@@ -47,6 +54,15 @@ public class CharJsonParser extends AbstractJsonParser {
 
     private CharSource source;
 
+    private boolean inPlace;
+
+    private StringBuilder markedText;
+
+    private int markIndex;
+
+    private int markedTextStart;
+    private int markedTextEnd;
+
     /**
      * Construct a new instance using the default configuration.
      */
@@ -62,24 +78,53 @@ public class CharJsonParser extends AbstractJsonParser {
     public CharJsonParser(final JsonParserConfig config) {
         super(config);
 
-        buffer = new char[config.getBufferSize()];
+        defaultBuffer = new char[config.getBufferSize()];
+
+        fieldNameView = new CharArrayView();
+        textView = new CharArrayView();
 
         reset(EMPTY_SOURCE);
     }
 
     /**
-     * Reset this instance.
+     * <p>Reset this instance.</p>
+     *
+     * <p>If the source is a {@link CharArraySource}, this instance parses
+     * the remaining input in place instead of copying it into its buffer. In
+     * that case, the input must not be modified while this instance reads
+     * from it.</p>
      *
      * @param source the source
      */
     public void reset(final CharSource source) {
         super.reset();
 
-        this.length = 0;
+        if (source instanceof CharArraySource) {
+            CharArraySource arraySource = (CharArraySource)source;
+
+            this.buffer = arraySource.getInput();
+
+            this.length = arraySource.getInputOffset() + arraySource.getInputLength();
 
-        this.index = 0;
+            this.index = arraySource.getInputOffset();
+
+            this.source = EMPTY_SOURCE;
+
+            this.inPlace = true;
+        }
+        else {
+            this.buffer = defaultBuffer;
 
-        this.source = source;
+            this.length = 0;
+
+            this.index = 0;
+
+            this.source = source;
+
+            this.inPlace = false;
+        }
+
+        this.markedText = null;
     }
 
     @Override
@@ -110,6 +155,177 @@ public class CharJsonParser extends AbstractJsonParser {
         matchAsciiChar('e');
     }
 
+    @Override
+    void parseNonAsciiChar(final StringBuilder text, final int ch) {
+        text.append((char)ch);
+    }
+
+    @Override
+    int nextTextChar(final StringBuilder text) throws IOException {
+        int start = index;
+        int end = start;
+
+        while (end < length) {
+            char ch = buffer[end];
+            if (ch < SP || ch == '"' || ch == '\\')
+                break;
+
+            end++;
+        }
+
+        if (end > start)
+            text.append(buffer, start, end - start);
+
+        index = end;
+
+        return nextAsciiChar();
+    }
+
+    @Override
+    int matchFieldName(final FieldMatcher matcher) {
+        int end = index;
+
+        while (end < length) {
+            char ch = buffer[end];
+            if (ch == '"')
+                break;
+
+            if (ch < SP || ch == '\\')
+                return -1;
+
+            end++;
+        }
+
+        if (end >= length)
+            return -1;
+
+        int match = matcher.match(buffer, index, end - index);
+        if (match != -1)
+            index = end + 1;
+
+        return match;
+    }
+
+    @Override
+    CharSequence nextTextView(final boolean isFieldName) {
+        int end = index;
+
+        while (end < length) {
+            char ch = buffer[end];
+            if (ch == '"')
+                break;
+
+            if (ch < SP || ch == '\\')
+                return null;
+
+            end++;
+        }
+
+        if (end >= length)
+            return null;
+
+        CharArrayView view = isFieldName ? fieldNameView : textView;
+
+        view.reset(buffer, index, end - index);
+
+        index = end + 1;
+
+        return view;
+    }
+
+    @Override
+    CharSequence nextHashedFieldNameView() {
+        int hash = 0;
+
+        int end = index;
+
+        while (end < length) {
+            char ch = buffer[end];
+            if (ch == '"')
+                break;
+
+            if (ch < SP || ch == '\\')
+                return null;
+
+            hash = SymbolTable.hash(hash, ch);
+
+            end++;
+        }
+
+        if (end >= length)
+            return null;
+
+        fieldNameView.reset(buffer, index, end - index);
+
+        index = end + 1;
+
+        setFieldNameHash(hash);
+
+        return fieldNameView;
+    }
+
+    @Override
+    int nextStructuralAsciiChar() throws IOException {
+        while (true) {
+            while (index < length) {
+                char ch = buffer[index++];
+                if (ch == '"' || ch == '{' || ch == '[' || ch == '}' || ch == ']')
+                    return ch;
+            }
+
+            int ch = nextAsciiCharSlowPath();
+            if (ch == -1 || ch == '"' || ch == '{' || ch == '[' || ch == '}' || ch == ']')
+                return ch;
+        }
+    }
+
+    @Override
+    void skipText() throws IOException {
+        while (true) {
+            int ch = nextQuoteOrBackslash();
+
+            if (ch == '"')
+                return;
+
+            if (ch == -1 || nextAsciiChar() == -1)
+                unexpectedEof();
+        }
+    }
+
+    private int nextQuoteOrBackslash() throws IOException {
+        while (true) {
+            while (index < length) {
+                char ch = buffer[index++];
+                if (ch == '"' || ch == '\\')
+                    return ch;
+            }
+
+            int ch = nextAsciiCharSlowPath();
+            if (ch == -1 || ch == '"' || ch == '\\')
+                return ch;
+        }
+    }
+
+    @Override
+    void markText(final StringBuilder text, final int offset) {
+        markedText = text;
+
+        markIndex = index - offset;
+    }
+
+    @Override
+    void unmarkText(final int offset) {
+        markedText = null;
+
+        markedTextStart = markIndex;
+        markedTextEnd = index - offset;
+    }
+
+    @Override
+    void appendMarkedText(final StringBuilder text) {
+        text.append(buffer, markedTextStart, markedTextEnd - markedTextStart);
+    }
+
     @Override
     int nextAsciiChar() throws IOException {
         if (index < length)
@@ -122,10 +338,17 @@ public class CharJsonParser extends AbstractJsonParser {
         if (length == -1)
             return -1;
 
+        beforeRefill();
+
+        spillMarkedText(length);
+
         while (true) {
             length = source.read(buffer, 0);
-            if (length == -1)
+            if (length == -1) {
+                index = 0;
+
                 return -1;
+            }
 
             if (length == 0)
                 continue;
@@ -146,14 +369,23 @@ public class CharJsonParser extends AbstractJsonParser {
     }
 
     private void ensure(final int count) throws IOException {
-        if (length - index < count)
+        if (length - index < count) {
+            // Never compact the input of an in-place source.
+            if (inPlace)
+                unexpectedEof();
+
             fill();
+        }
 
         if (length < count)
             unexpectedEof();
     }
 
     private void fill() throws IOException {
+        beforeRefill();
+
+        spillMarkedText(index);
+
         int remaining = length - index;
         if (remaining > 0)
             System.arraycopy(buffer, index, buffer, 0, remaining);
@@ -171,4 +403,13 @@ public class CharJsonParser extends AbstractJsonParser {
         length += remaining;
     }
 
+    private void spillMarkedText(final int end) {
+        if (markedText == null)
+            return;
+
+        markedText.append(buffer, markIndex, end - markIndex);
+
+        markIndex = 0;
+    }
+
 }
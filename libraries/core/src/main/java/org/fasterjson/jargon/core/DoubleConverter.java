@@ -0,0 +1,234 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+import java.math.BigInteger;
+
+/*
+ * Converts a decimal significand and exponent into the nearest double using
+ * the Eisel-Lemire algorithm, as described in "Number Parsing at a Gigabyte
+ * per Second" by Daniel Lemire and refined in "Fast Number Parsing Without
+ * Fallback" by Noble Mushtak and Daniel Lemire.
+ */
+final class DoubleConverter {
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0,
+        1e1,
+        1e2,
+        1e3,
+        1e4,
+        1e5,
+        1e6,
+        1e7,
+        1e8,
+        1e9,
+        1e10,
+        1e11,
+        1e12,
+        1e13,
+        1e14,
+        1e15,
+        1e16,
+        1e17,
+        1e18,
+        1e19,
+        1e20,
+        1e21,
+        1e22,
+    };
+
+    private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+
+    private static final int MAX_EXACT_EXPONENT = 22;
+
+    private static final int SMALLEST_POWER_OF_TEN = -342;
+    private static final int LARGEST_POWER_OF_TEN = 308;
+
+    private static final int MANTISSA_EXPLICIT_BITS = 52;
+
+    private static final int MINIMUM_EXPONENT = -1023;
+
+    private static final int INFINITE_POWER = 0x7ff;
+
+    private static final int MIN_EXPONENT_ROUND_TO_EVEN = -4;
+    private static final int MAX_EXPONENT_ROUND_TO_EVEN = 23;
+
+    private static final long PRECISION_MASK = 0xffffffffffffffffL >>> (MANTISSA_EXPLICIT_BITS + 3);
+
+    // The 128-bit truncated powers of five from 5^-342 to 5^308, two words
+    // per power, most significant word first.
+    private static final long[] POWERS_OF_FIVE = powersOfFive();
+
+    private DoubleConverter() {
+    }
+
+    /*
+     * Return the double nearest to (negative ? -1 : 1) * significand *
+     * 10^exponent. The significand is an unsigned value.
+     */
+    static double toDouble(final boolean negative, final long significand, final int exponent) {
+        if (significand >= 0 && significand <= MAX_EXACT_SIGNIFICAND) {
+            if (exponent >= -MAX_EXACT_EXPONENT && exponent <= MAX_EXACT_EXPONENT) {
+                double value = (double)significand;
+
+                if (exponent < 0)
+                    value /= POWERS_OF_TEN[-exponent];
+                else
+                    value *= POWERS_OF_TEN[exponent];
+
+                return negative ? -value : value;
+            }
+        }
+
+        long bits = toBits(significand, exponent);
+
+        if (negative)
+            bits |= Long.MIN_VALUE;
+
+        return Double.longBitsToDouble(bits);
+    }
+
+    private static long toBits(final long significand, final int exponent) {
+        if (significand == 0 || exponent < SMALLEST_POWER_OF_TEN)
+            return 0;
+
+        if (exponent > LARGEST_POWER_OF_TEN)
+            return (long)INFINITE_POWER << MANTISSA_EXPLICIT_BITS;
+
+        int leadingZeros = Long.numberOfLeadingZeros(significand);
+
+        long w = significand << leadingZeros;
+
+        int index = 2 * (exponent - SMALLEST_POWER_OF_TEN);
+
+        long low = w * POWERS_OF_FIVE[index];
+        long high = multiplyHigh(w, POWERS_OF_FIVE[index]);
+
+        if ((high & PRECISION_MASK) == PRECISION_MASK) {
+            long secondHigh = multiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+
+            low += secondHigh;
+
+            if (Long.compareUnsigned(secondHigh, low) > 0)
+                high++;
+        }
+
+        int upperBit = (int)(high >>> 63);
+        int shift = upperBit + 64 - MANTISSA_EXPLICIT_BITS - 3;
+
+        long mantissa = high >>> shift;
+
+        int power2 = power(exponent) + upperBit - leadingZeros - MINIMUM_EXPONENT;
+
+        if (power2 <= 0) {
+            if (-power2 + 1 >= 64)
+                return 0;
+
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+
+            power2 = mantissa < 1L << MANTISSA_EXPLICIT_BITS ? 0 : 1;
+
+            return (long)power2 << MANTISSA_EXPLICIT_BITS | mantissa & ~(1L << MANTISSA_EXPLICIT_BITS);
+        }
+
+        if (Long.compareUnsigned(low, 1) <= 0 && exponent >= MIN_EXPONENT_ROUND_TO_EVEN &&
+                exponent <= MAX_EXPONENT_ROUND_TO_EVEN && (mantissa & 3) == 1) {
+            if (mantissa << shift == high)
+                mantissa &= ~1L;
+        }
+
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+
+        if (mantissa >= 2L << MANTISSA_EXPLICIT_BITS) {
+            mantissa = 1L << MANTISSA_EXPLICIT_BITS;
+
+            power2++;
+        }
+
+        mantissa &= ~(1L << MANTISSA_EXPLICIT_BITS);
+
+        if (power2 >= INFINITE_POWER)
+            return (long)INFINITE_POWER << MANTISSA_EXPLICIT_BITS;
+
+        return (long)power2 << MANTISSA_EXPLICIT_BITS | mantissa;
+    }
+
+    private static int power(final int q) {
+        return ((152170 + 65536) * q >> 16) + 63;
+    }
+
+    private static long multiplyHigh(final long x, final long y) {
+        long x0 = x & 0xffffffffL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xffffffffL;
+        long y1 = y >>> 32;
+
+        long p11 = x1 * y1;
+        long p01 = x0 * y1;
+        long p10 = x1 * y0;
+        long p00 = x0 * y0;
+
+        long middle = p10 + (p00 >>> 32) + (p01 & 0xffffffffL);
+
+        return p11 + (middle >>> 32) + (p01 >>> 32);
+    }
+
+    private static long[] powersOfFive() {
+        BigInteger five = BigInteger.valueOf(5);
+
+        BigInteger twoTo128 = BigInteger.ONE.shiftLeft(128);
+
+        BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+        long[] powers = new long[2 * (LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1)];
+
+        for (int q = SMALLEST_POWER_OF_TEN; q <= LARGEST_POWER_OF_TEN; q++) {
+            BigInteger value;
+
+            if (q < 0) {
+                BigInteger power = five.pow(-q);
+
+                int z = power.subtract(BigInteger.ONE).bitLength();
+
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+
+                value = BigInteger.ONE.shiftLeft(b).divide(power).add(BigInteger.ONE);
+
+                while (value.compareTo(twoTo128) >= 0)
+                    value = value.shiftRight(1);
+            }
+            else {
+                value = five.pow(q);
+
+                int bitLength = value.bitLength();
+
+                value = bitLength < 128 ? value.shiftLeft(128 - bitLength) : value.shiftRight(bitLength - 128);
+            }
+
+            int index = 2 * (q - SMALLEST_POWER_OF_TEN);
+
+            powers[index] = value.shiftRight(64).longValue();
+            powers[index + 1] = value.and(mask).longValue();
+        }
+
+        return powers;
+    }
+
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+import static java.nio.charset.StandardCharsets.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * <p>A field matcher.</p>
+ *
+ * <p>A field matcher holds a fixed list of field names. It lets
+ * {@link JsonParser#nextFieldName(FieldMatcher)} match a field name against
+ * the list and return its index, so that a reader can dispatch on the index
+ * instead of comparing the field name with each expected one.</p>
+ *
+ * <p>A JSON parser compares a field name that lies entirely within its
+ * buffer and contains no escape sequences directly with the encoded field
+ * names of the matcher, without decoding it. The candidates are the field
+ * names of the same encoded length, which are compared by their first and
+ * last units before the rest.</p>
+ *
+ * <p>A field matcher is immutable and thread-safe.</p>
+ */
+public final class FieldMatcher {
+
+    private static final int[] NO_CANDIDATES = new int[0];
+
+    private final String[] names;
+
+    private final byte[][] utf8Names;
+
+    // The indexes of the field names by UTF-8 length and by UTF-16 length.
+    private final int[][] utf8Candidates;
+    private final int[][] utf16Candidates;
+
+    private FieldMatcher(final String[] names) {
+        this.names = names;
+
+        utf8Names = new byte[names.length][];
+
+        int maxUtf8Length = 0;
+        int maxUtf16Length = 0;
+
+        for (int i = 0; i < names.length; i++) {
+            utf8Names[i] = names[i].getBytes(UTF_8);
+
+            maxUtf8Length = Math.max(maxUtf8Length, utf8Names[i].length);
+            maxUtf16Length = Math.max(maxUtf16Length, names[i].length());
+        }
+
+        utf8Candidates = new int[maxUtf8Length + 1][];
+        utf16Candidates = new int[maxUtf16Length + 1][];
+
+        Arrays.fill(utf8Candidates, NO_CANDIDATES);
+        Arrays.fill(utf16Candidates, NO_CANDIDATES);
+
+        for (int i = 0; i < names.length; i++) {
+            add(utf8Candidates, utf8Names[i].length, i);
+            add(utf16Candidates, names[i].length(), i);
+        }
+    }
+
+    /**
+     * Create a field matcher.
+     *
+     * @param names the field names
+     * @return a field matcher
+     * @throws IllegalArgumentException if a field name occurs more than once
+     */
+    public static FieldMatcher of(final String... names) {
+        String[] copy = names.clone();
+
+        for (int i = 0; i < copy.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (copy[i].equals(copy[j]))
+                    throw new IllegalArgumentException("Duplicate field name: " + copy[i]);
+            }
+        }
+
+        return new FieldMatcher(copy);
+    }
+
+    /**
+     * Get the number of field names.
+     *
+     * @return the number of field names
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Get a field name.
+     *
+     * @param index the index of the field name
+     * @return the field name
+     */
+    public String getName(final int index) {
+        return names[index];
+    }
+
+    /**
+     * Match a field name.
+     *
+     * @param name a field name
+     * @return the index of the field name or -1 if there is no match
+     */
+    public int match(final CharSequence name) {
+        int length = name.length();
+        if (length >= utf16Candidates.length)
+            return -1;
+
+        int[] candidates = utf16Candidates[length];
+
+        for (int i = 0; i < candidates.length; i++) {
+            String candidate = names[candidates[i]];
+
+            if (length == 0)
+                return candidates[i];
+
+            if (candidate.charAt(0) != name.charAt(0) || candidate.charAt(length - 1) != name.charAt(length - 1))
+                continue;
+
+            if (candidate.contentEquals(name))
+                return candidates[i];
+        }
+
+        return -1;
+    }
+
+    int match(final byte[] buffer, final int offset, final int length) {
+        if (length >= utf8Candidates.length)
+            return -1;
+
+        int[] candidates = utf8Candidates[length];
+
+        for (int i = 0; i < candidates.length; i++) {
+            byte[] candidate = utf8Names[candidates[i]];
+
+            if (length == 0)
+                return candidates[i];
+
+            if (candidate[0] != buffer[offset] || candidate[length - 1] != buffer[offset + length - 1])
+                continue;
+
+            if (equals(candidate, buffer, offset))
+                return candidates[i];
+        }
+
+        return -1;
+    }
+
+    int match(final ByteBuffer buffer, final int offset, final int length) {
+        if (length >= utf8Candidates.length)
+            return -1;
+
+        int[] candidates = utf8Candidates[length];
+
+        for (int i = 0; i < candidates.length; i++) {
+            byte[] candidate = utf8Names[candidates[i]];
+
+            if (length == 0)
+                return candidates[i];
+
+            if (candidate[0] != buffer.get(offset) || candidate[length - 1] != buffer.get(offset + length - 1))
+                continue;
+
+            if (equals(candidate, buffer, offset))
+                return candidates[i];
+        }
+
+        return -1;
+    }
+
+    int match(final char[] buffer, final int offset, final int length) {
+        if (length >= utf16Candidates.length)
+            return -1;
+
+        int[] candidates = utf16Candidates[length];
+
+        for (int i = 0; i < candidates.length; i++) {
+            String candidate = names[candidates[i]];
+
+            if (length == 0)
+                return candidates[i];
+
+            if (candidate.charAt(0) != buffer[offset] || candidate.charAt(length - 1) != buffer[offset + length - 1])
+                continue;
+
+            if (equals(candidate, buffer, offset))
+                return candidates[i];
+        }
+
+        return -1;
+    }
+
+    private static void add(final int[][] candidates, final int length, final int index) {
+        int[] current = candidates[length];
+
+        int[] next = Arrays.copyOf(current, current.length + 1);
+
+        next[current.length] = index;
+
+        candidates[length] = next;
+    }
+
+    private static boolean equals(final byte[] candidate, final byte[] buffer, final int offset) {
+        for (int i = 0; i < candidate.length; i++) {
+            if (candidate[i] != buffer[offset + i])
+                return false;
+        }
+
+        return true;
+    }
+
+    private static boolean equals(final byte[] candidate, final ByteBuffer buffer, final int offset) {
+        for (int i = 0; i < candidate.length; i++) {
+            if (candidate[i] != buffer.get(offset + i))
+                return false;
+        }
+
+        return true;
+    }
+
+    private static boolean equals(final String candidate, final char[] buffer, final int offset) {
+        for (int i = 0; i < candidate.length(); i++) {
+            if (candidate.charAt(i) != buffer[offset + i])
+                return false;
+        }
+
+        return true;
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>A field name canonicalizer.</p>
+ *
+ * <p>A field name canonicalizer is a symbol table that JSON parsers share
+ * through {@link JsonParserConfig.Builder#setFieldNameCanonicalizer}. Each
+ * field name it holds has one canonical {@link String} and one symbol id
+ * across all JSON parsers that use it, so the JSON parsers warm up together
+ * and do not keep copies of the same field names.</p>
+ *
+ * <p>A field name canonicalizer is thread-safe and lock-free. JSON parsers
+ * look up field names in an immutable snapshot of the table. A field name
+ * that is not yet in the table is added to a copy of it, which then replaces
+ * the table using compare-and-set.</p>
+ *
+ * <p>A field name canonicalizer holds at most a maximum number of field
+ * names, which also bounds the cost of copying the table. A field name is
+ * not added if it collides with too many field names already in the table,
+ * which bounds the cost of field names chosen to collide. A JSON parser
+ * returns such a field name as if it had no symbol table.</p>
+ *
+ * <p>By default, a field name is not added either once the table is full,
+ * so the field names added first keep their symbol ids. As the table then
+ * stays full, input with many distinct field names, such as untrusted
+ * input, disables canonicalization of all field names that are not yet in
+ * the table. A field name canonicalizer that resets when full instead
+ * replaces a full table with an empty one when a field name is added, so
+ * that it adapts to the field names currently in use. Each reset assigns
+ * the symbol ids anew, so symbol ids obtained before a reset must not be
+ * compared with symbol ids obtained after it.</p>
+ */
+public class FieldNameCanonicalizer {
+
+    /**
+     * The default maximum number of field names.
+     */
+    public static final int DEFAULT_MAX_SYMBOL_COUNT = 4096;
+
+    private final int maxSymbolCount;
+
+    private final boolean resetWhenFull;
+
+    private final AtomicReference<SymbolTable> table;
+
+    /**
+     * Construct a new instance holding at most the default maximum number of
+     * field names and not resetting when full.
+     */
+    public FieldNameCanonicalizer() {
+        this(DEFAULT_MAX_SYMBOL_COUNT);
+    }
+
+    /**
+     * Construct a new instance not resetting when full.
+     *
+     * @param maxSymbolCount the maximum number of field names
+     */
+    public FieldNameCanonicalizer(final int maxSymbolCount) {
+        this(maxSymbolCount, false);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param maxSymbolCount the maximum number of field names
+     * @param resetWhenFull if true, replace a full table with an empty one
+     *     when a field name is added, otherwise stop adding field names once
+     *     the table is full
+     * @throws IllegalArgumentException if the maximum number of field names
+     *     is not positive
+     */
+    public FieldNameCanonicalizer(final int maxSymbolCount, final boolean resetWhenFull) {
+        if (maxSymbolCount < 1)
+            throw new IllegalArgumentException("Non-positive maximum symbol count");
+
+        this.maxSymbolCount = maxSymbolCount;
+
+        this.resetWhenFull = resetWhenFull;
+
+        this.table = new AtomicReference<>(new SymbolTable(maxSymbolCount));
+    }
+
+    /**
+     * Get the maximum number of field names.
+     *
+     * @return the maximum number of field names
+     */
+    public int getMaxSymbolCount() {
+        return maxSymbolCount;
+    }
+
+    /**
+     * Return true if this instance replaces a full table with an empty one
+     * when a field name is added.
+     *
+     * @return true if this instance resets when full, otherwise false
+     */
+    public boolean isResetWhenFull() {
+        return resetWhenFull;
+    }
+
+    /**
+     * Get the number of field names.
+     *
+     * @return the number of field names
+     */
+    public int size() {
+        return table.get().size();
+    }
+
+    /*
+     * Return the current snapshot of the table.
+     */
+    SymbolTable getSymbolTable() {
+        return table.get();
+    }
+
+    /*
+     * Return the symbol id of a field name, adding it if necessary, or -1 if
+     * the field name cannot be added.
+     */
+    int add(final CharSequence name) {
+        while (true) {
+            SymbolTable current = table.get();
+
+            int id = current.find(name);
+            if (id != -1)
+                return id;
+
+            // Do not copy the table for a field name that cannot be added.
+            SymbolTable next;
+
+            if (current.canAdd(name))
+                next = current.copy();
+            else if (resetWhenFull && current.isFull())
+                next = new SymbolTable(maxSymbolCount);
+            else
+                return -1;
+
+            id = next.lookup(name);
+            if (id == -1)
+                return -1;
+
+            if (table.compareAndSet(current, next))
+                return id;
+        }
+    }
+
+}
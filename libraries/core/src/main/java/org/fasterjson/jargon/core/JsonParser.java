@@ -35,6 +35,16 @@ public interface JsonParser {
      */
     CharSequence currentName();
 
+    /**
+     * Get the symbol id of the field name associated with the current token.
+     * A symbol id identifies a field name for the lifetime of a JSON parser
+     * that has a {@linkplain JsonParserConfig#isSymbolTable() symbol table}.
+     *
+     * @return the symbol id of the field name associated with the current
+     *     token or -1 if there is no such field name or it has no symbol id
+     */
+    int currentNameId();
+
     /**
      * Get the current token or {@code null} if there is no current token.
      *
@@ -92,4 +102,50 @@ public interface JsonParser {
      */
     JsonToken nextToken() throws IOException;
 
+    /**
+     * Get the next token and match it against a field matcher. If the next
+     * token is {@link JsonToken#FIELD_NAME} and its field name is one of the
+     * field names of the field matcher, return the index of the field name
+     * in the field matcher. Otherwise return -1. In both cases, the next token
+     * becomes the current token.
+     *
+     * @param matcher a field matcher
+     * @return the index of the field name in the field matcher or -1 if the
+     *     next token is not a matching field name
+     * @throws IOException if an I/O error occurs
+     */
+    int nextFieldName(FieldMatcher matcher) throws IOException;
+
+    /**
+     * Get the next token, skipping its value. If the next token is
+     * {@link JsonToken#START_OBJECT} or {@link JsonToken#START_ARRAY}, skip
+     * all tokens up to the matching {@link JsonToken#END_OBJECT} or
+     * {@link JsonToken#END_ARRAY}, which becomes the current token. Otherwise
+     * the next token becomes the current token, but if it is a string or a
+     * number, its value is not decoded and unspecified. A number is still
+     * validated against the JSON number grammar.
+     *
+     * <p>The skipped tokens are not decoded. Their syntax is only validated
+     * to the extent necessary for finding the end of the value.</p>
+     *
+     * @return the current token or {@code null} if there are no more tokens
+     * @throws IOException if an I/O error occurs
+     */
+    JsonToken skipValue() throws IOException;
+
+    /**
+     * Skip the children of the current token. If the current token is
+     * {@link JsonToken#START_OBJECT} or {@link JsonToken#START_ARRAY}, skip
+     * all tokens up to the matching {@link JsonToken#END_OBJECT} or
+     * {@link JsonToken#END_ARRAY}, which becomes the current token. Otherwise
+     * do nothing.
+     *
+     * <p>The skipped tokens are not decoded. Their syntax is only validated
+     * to the extent necessary for finding the end of the current object or
+     * array.</p>
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void skipChildren() throws IOException;
+
 }
@@ -55,6 +55,26 @@ public class JsonParserConfig {
      */
     public static final int DEFAULT_MAX_STRING_CAPACITY = Integer.MAX_VALUE;
 
+    /**
+     * The default for zero-copy text.
+     */
+    public static final boolean DEFAULT_ZERO_COPY_TEXT = false;
+
+    /**
+     * The default for the structural index.
+     */
+    public static final boolean DEFAULT_STRUCTURAL_INDEX = false;
+
+    /**
+     * The default for multiple root values.
+     */
+    public static final boolean DEFAULT_MULTIPLE_ROOT_VALUES = false;
+
+    /**
+     * The default for the symbol table.
+     */
+    public static final boolean DEFAULT_SYMBOL_TABLE = false;
+
     /**
      * The defaults.
      */
@@ -71,10 +91,23 @@ public class JsonParserConfig {
     private final int minStringCapacity;
     private final int maxStringCapacity;
 
+    private final boolean zeroCopyText;
+
+    private final boolean structuralIndex;
+
+    private final boolean multipleRootValues;
+
+    private final boolean symbolTable;
+
+    private final FieldNameCanonicalizer fieldNameCanonicalizer;
+
     private JsonParserConfig(final int bufferSize, final int minNestingCapacity,
             final int maxNestingCapacity, final int minFieldNameCapacity,
             final int maxFieldNameCapacity, final int minStringCapacity,
-            final int maxStringCapacity) {
+            final int maxStringCapacity, final boolean zeroCopyText,
+            final boolean structuralIndex, final boolean multipleRootValues,
+            final boolean symbolTable,
+            final FieldNameCanonicalizer fieldNameCanonicalizer) {
         this.bufferSize = bufferSize;
 
         this.minNestingCapacity = minNestingCapacity;
@@ -85,6 +118,16 @@ public class JsonParserConfig {
 
         this.minStringCapacity = minStringCapacity;
         this.maxStringCapacity = maxStringCapacity;
+
+        this.zeroCopyText = zeroCopyText;
+
+        this.structuralIndex = structuralIndex;
+
+        this.multipleRootValues = multipleRootValues;
+
+        this.symbolTable = symbolTable;
+
+        this.fieldNameCanonicalizer = fieldNameCanonicalizer;
     }
 
     /**
@@ -169,6 +212,98 @@ public class JsonParserConfig {
         return maxStringCapacity;
     }
 
+    /**
+     * Get whether zero-copy text is enabled. If enabled, the JSON parser
+     * returns a field name or a string value that lies entirely within its
+     * buffer as a view into the buffer instead of copying it. A field name or
+     * a string value that contains escape sequences, contains non-ASCII
+     * characters in a byte source or crosses a buffer boundary is still
+     * copied.
+     *
+     * @return true if zero-copy text is enabled, otherwise false
+     */
+    public boolean isZeroCopyText() {
+        return zeroCopyText;
+    }
+
+    /**
+     * Get whether the structural index is enabled. If enabled, a JSON parser
+     * that reads from a byte source classifies its buffer in blocks of 64
+     * bytes using the Vector API and locates tokens using the resulting
+     * index instead of skipping whitespace byte by byte.
+     *
+     * <p>The structural index requires Java 17 or later with the
+     * {@code jdk.incubator.vector} module added to the module graph, for
+     * example using {@code --add-modules jdk.incubator.vector}. Otherwise
+     * this setting has no effect.</p>
+     *
+     * <p><strong>Note.</strong> The structural index is experimental. It is
+     * only used to skip whitespace, and it does not make parsing faster on
+     * all inputs. Measure with {@code StructuralIndexBench} before enabling
+     * it.</p>
+     *
+     * @return true if the structural index is enabled, otherwise false
+     */
+    public boolean isStructuralIndex() {
+        return structuralIndex;
+    }
+
+    /**
+     * Get whether multiple root values are enabled. If enabled, the JSON
+     * parser accepts a sequence of root values separated by whitespace, such
+     * as newline-delimited JSON, or by record separators (U+001E), as in JSON
+     * text sequences (RFC 7464). After each root value, the next invocation
+     * of {@link JsonParser#nextToken()} returns {@code null} to signal the
+     * document boundary. The following invocation returns the first token of
+     * the next root value or {@code null} if there are no more root values.
+     * The JSON parsers provide an {@code isEndOfInput()} method to tell the
+     * two apart.
+     *
+     * <p>A root value that is a number or a literal must be followed by
+     * whitespace, a record separator or the end of input. Objects, arrays and
+     * strings delimit themselves, so that, for example, {@code {}{}} is read
+     * as two root values.</p>
+     *
+     * @return true if multiple root values are enabled, otherwise false
+     */
+    public boolean isMultipleRootValues() {
+        return multipleRootValues;
+    }
+
+    /**
+     * Get whether the symbol table is enabled. If enabled, the JSON parser
+     * keeps a table of the field names it has encountered and returns each
+     * field name from {@link JsonParser#currentName()} as a canonical
+     * {@link String} together with a symbol id from
+     * {@link JsonParser#currentNameId()}. Field names that lie entirely
+     * within the buffer are looked up without copying them. The table holds
+     * up to 4096 field names, which keep their symbol ids for the lifetime
+     * of the JSON parser. Field names beyond that are returned as if the
+     * symbol table was disabled.
+     *
+     * <p>A {@linkplain #getFieldNameCanonicalizer() field name
+     * canonicalizer} replaces the symbol table of the JSON parser.</p>
+     *
+     * @return true if the symbol table is enabled, otherwise false
+     */
+    public boolean isSymbolTable() {
+        return symbolTable;
+    }
+
+    /**
+     * Get the field name canonicalizer or {@code null} if there is none. If
+     * set, the JSON parser uses the field name canonicalizer as its symbol
+     * table regardless of {@link #isSymbolTable()}. Symbol ids are then
+     * stable across all JSON parsers that share the field name
+     * canonicalizer, until it {@linkplain
+     * FieldNameCanonicalizer#isResetWhenFull() resets}.
+     *
+     * @return the field name canonicalizer or {@code null} if there is none
+     */
+    public FieldNameCanonicalizer getFieldNameCanonicalizer() {
+        return fieldNameCanonicalizer;
+    }
+
     /**
      * A JSON parser configuration builder.
      */
@@ -185,6 +320,16 @@ public class JsonParserConfig {
         private int minStringCapacity;
         private int maxStringCapacity;
 
+        private boolean zeroCopyText;
+
+        private boolean structuralIndex;
+
+        private boolean multipleRootValues;
+
+        private boolean symbolTable;
+
+        private FieldNameCanonicalizer fieldNameCanonicalizer;
+
         private Builder() {
             bufferSize = DEFAULT_BUFFER_SIZE;
 
@@ -196,6 +341,16 @@ public class JsonParserConfig {
 
             minStringCapacity = DEFAULT_MIN_STRING_CAPACITY;
             maxStringCapacity = DEFAULT_MAX_STRING_CAPACITY;
+
+            zeroCopyText = DEFAULT_ZERO_COPY_TEXT;
+
+            structuralIndex = DEFAULT_STRUCTURAL_INDEX;
+
+            multipleRootValues = DEFAULT_MULTIPLE_ROOT_VALUES;
+
+            symbolTable = DEFAULT_SYMBOL_TABLE;
+
+            fieldNameCanonicalizer = null;
         }
 
         /**
@@ -289,6 +444,72 @@ public class JsonParserConfig {
             return this;
         }
 
+        /**
+         * Set whether zero-copy text is enabled.
+         *
+         * @param zeroCopyText true to enable zero-copy text
+         * @return this instance
+         * @see JsonParserConfig#isZeroCopyText
+         */
+        public Builder setZeroCopyText(final boolean zeroCopyText) {
+            this.zeroCopyText = zeroCopyText;
+
+            return this;
+        }
+
+        /**
+         * Set whether the structural index is enabled.
+         *
+         * @param structuralIndex true to enable the structural index
+         * @return this instance
+         * @see JsonParserConfig#isStructuralIndex
+         */
+        public Builder setStructuralIndex(final boolean structuralIndex) {
+            this.structuralIndex = structuralIndex;
+
+            return this;
+        }
+
+        /**
+         * Set whether multiple root values are enabled.
+         *
+         * @param multipleRootValues true to enable multiple root values
+         * @return this instance
+         * @see JsonParserConfig#isMultipleRootValues
+         */
+        public Builder setMultipleRootValues(final boolean multipleRootValues) {
+            this.multipleRootValues = multipleRootValues;
+
+            return this;
+        }
+
+        /**
+         * Set whether the symbol table is enabled.
+         *
+         * @param symbolTable true to enable the symbol table
+         * @return this instance
+         * @see JsonParserConfig#isSymbolTable
+         */
+        public Builder setSymbolTable(final boolean symbolTable) {
+            this.symbolTable = symbolTable;
+
+            return this;
+        }
+
+        /**
+         * Set the field name canonicalizer.
+         *
+         * @param fieldNameCanonicalizer the field name canonicalizer or
+         *     {@code null} for none
+         * @return this instance
+         * @see JsonParserConfig#getFieldNameCanonicalizer
+         */
+        public Builder setFieldNameCanonicalizer(final FieldNameCanonicalizer fieldNameCanonicalizer) {
+            this.fieldNameCanonicalizer = fieldNameCanonicalizer;
+
+            return this;
+        }
+
         /**
          * Build the JSON tree configuration.
          *
@@ -298,7 +519,8 @@ public class JsonParserConfig {
             return new JsonParserConfig(bufferSize, minNestingCapacity,
                     maxNestingCapacity, minFieldNameCapacity,
                     maxFieldNameCapacity, minStringCapacity,
-                    maxStringCapacity);
+                    maxStringCapacity, zeroCopyText, structuralIndex,
+                    multipleRootValues, symbolTable, fieldNameCanonicalizer);
         }
 
     }
@@ -35,6 +35,12 @@ public enum JsonToken {
      */
     FIELD_NAME(null),
 
+    /**
+     * Not enough input is available for the next token. Returned by
+     * {@link NonBlockingByteJsonParser} only.
+     */
+    NOT_AVAILABLE(null),
+
     /**
      * The start of an array ({@code [}).
      */
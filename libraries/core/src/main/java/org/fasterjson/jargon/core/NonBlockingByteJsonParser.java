@@ -0,0 +1,511 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+import static java.nio.charset.StandardCharsets.*;
+
+import java.io.IOException;
+
+/**
+ * <p>A non-blocking JSON parser that reads from byte arrays fed by the
+ * caller.</p>
+ *
+ * <p>Feed input using {@link #feedInput} and signal the end of input using
+ * {@link #endOfInput}. If the input fed so far ends within a token,
+ * {@link #nextToken} returns {@link JsonToken#NOT_AVAILABLE} instead of
+ * blocking. The parser retains the partial token and parses it again from
+ * its start once more input has been fed. Until then, the current token and
+ * its value are unspecified. As a partial token is retained and parsed
+ * again, feeding a long field name or string value in small pieces takes
+ * time and memory proportional to its length for each piece. Use the
+ * maximum field name and string capacities to bound it.</p>
+ *
+ * <p>If the input ends while skipping the children of the current token,
+ * {@link #skipChildren} returns with the current token unchanged and
+ * {@link #needMoreInput} returning true. Call it again after feeding more
+ * input. It resumes where it stopped, and the skipped input is released,
+ * so skipping a large struct takes time proportional to its length and
+ * memory proportional to the input fed at a time. Until it returns with
+ * {@link #needMoreInput} returning false, {@link #nextToken} must not be
+ * called. If {@link #skipValue} runs out of input within an object or an
+ * array, continue with {@link #skipChildren} in the same way.</p>
+ */
+public class NonBlockingByteJsonParser extends AbstractJsonParser {
+
+    private static final NotAvailableException NOT_AVAILABLE = new NotAvailableException();
+
+    private static final int SP = 0x20;
+
+    private final AsciiView fieldNameView;
+    private final AsciiView textView;
+
+    private byte[] buffer;
+
+    private int length;
+
+    private int index;
+
+    private int tokenStart;
+
+    private boolean needMoreInput;
+
+    private boolean endOfInput;
+
+    // The depth of the struct being skipped or -1 if not skipping.
+    private int skipDepth;
+
+    private boolean skippingText;
+
+    private int markIndex;
+
+    private int markedTextStart;
+    private int markedTextEnd;
+
+    /**
+     * Construct a new instance using the default configuration.
+     */
+    public NonBlockingByteJsonParser() {
+        this(JsonParserConfig.DEFAULTS);
+    }
+
+    /**
+     * Construct a new instance using a custom configuration. The buffer size
+     * is the initial buffer size. The buffer grows as needed to hold a
+     * partial token and the input fed after it.
+     *
+     * @param config the configuration
+     */
+    public NonBlockingByteJsonParser(final JsonParserConfig config) {
+        super(config);
+
+        buffer = new byte[config.getBufferSize()];
+
+        fieldNameView = new AsciiView();
+        textView = new AsciiView();
+
+        reset();
+    }
+
+    /**
+     * Reset this instance.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+
+        this.length = 0;
+
+        this.index = 0;
+
+        this.needMoreInput = true;
+
+        this.endOfInput = false;
+
+        this.skipDepth = -1;
+
+        this.skippingText = false;
+    }
+
+    /**
+     * Feed input. This method may only be called if {@link #needMoreInput}
+     * returns true. The input is copied.
+     *
+     * @param input the input
+     * @param offset the offset of the input within the array
+     * @param length the length of the input
+     * @throws IllegalStateException if this instance does not need more
+     *     input
+     */
+    public void feedInput(final byte[] input, final int offset, final int length) {
+        if (!needMoreInput)
+            throw new IllegalStateException("No more input needed");
+
+        beforeRefill();
+
+        int remaining = this.length - index;
+
+        if (remaining + length > buffer.length) {
+            byte[] newBuffer = new byte[Math.max(remaining + length, 2 * buffer.length)];
+
+            System.arraycopy(buffer, index, newBuffer, 0, remaining);
+
+            buffer = newBuffer;
+        }
+        else if (remaining > 0) {
+            System.arraycopy(buffer, index, buffer, 0, remaining);
+        }
+
+        System.arraycopy(input, offset, buffer, remaining, length);
+
+        this.length = remaining + length;
+
+        this.index = 0;
+
+        this.needMoreInput = false;
+    }
+
+    /**
+     * Signal the end of input. After this method has been called,
+     * {@link #nextToken} no longer returns {@link JsonToken#NOT_AVAILABLE}.
+     */
+    public void endOfInput() {
+        needMoreInput = false;
+
+        endOfInput = true;
+    }
+
+    /**
+     * Return true if this instance needs more input. This is the case before
+     * any input has been fed and after {@link #nextToken} has returned
+     * {@link JsonToken#NOT_AVAILABLE}.
+     *
+     * @return true if this instance needs more input, otherwise false
+     */
+    public boolean needMoreInput() {
+        return needMoreInput && !endOfInput;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if skipping children needs more input
+     */
+    @Override
+    public JsonToken nextToken() throws IOException {
+        if (skipDepth != -1)
+            throw new IllegalStateException("Skipping children");
+
+        tokenStart = index;
+
+        saveState();
+
+        try {
+            return super.nextToken();
+        }
+        catch (NotAvailableException e) {
+            notAvailable();
+
+            return JsonToken.NOT_AVAILABLE;
+        }
+    }
+
+    @Override
+    public void skipChildren() throws IOException {
+        if (skipDepth == -1) {
+            JsonToken token = currentToken();
+            if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY)
+                return;
+
+            skipDepth = depth();
+        }
+
+        try {
+            if (skippingText)
+                skipText();
+
+            skipChildren(skipDepth);
+
+            skipDepth = -1;
+        }
+        catch (NotAvailableException e) {
+            // Keep the skip state instead of rewinding, so that the skipped
+            // input is released and not scanned again.
+            needMoreInput = true;
+        }
+    }
+
+    @Override
+    void parseFalse() throws IOException {
+        ensure(4);
+
+        matchAsciiChar('a');
+        matchAsciiChar('l');
+        matchAsciiChar('s');
+        matchAsciiChar('e');
+    }
+
+    @Override
+    void parseNull() throws IOException {
+        ensure(3);
+
+        matchAsciiChar('u');
+        matchAsciiChar('l');
+        matchAsciiChar('l');
+    }
+
+    @Override
+    void parseTrue() throws IOException {
+        ensure(3);
+
+        matchAsciiChar('r');
+        matchAsciiChar('u');
+        matchAsciiChar('e');
+    }
+
+    @Override
+    void parseNonAsciiChar(final StringBuilder text, final int ch) throws IOException {
+        parseUtf8Char(text, ch);
+    }
+
+    @Override
+    int nextTextChar(final StringBuilder text) throws IOException {
+        int start = index;
+        int end = scanText(start);
+
+        if (end - start >= MIN_BULK_TEXT_LENGTH) {
+            text.append(new String(buffer, start, end - start, ISO_8859_1));
+        }
+        else {
+            for (int i = start; i < end; i++)
+                text.append((char)buffer[i]);
+        }
+
+        index = end;
+
+        return nextAsciiChar();
+    }
+
+    @Override
+    int matchFieldName(final FieldMatcher matcher) {
+        int end = scanText(index);
+
+        // Non-ASCII bytes are negative and compared as is.
+        while (end < length && buffer[end] < 0)
+            end = scanText(end + 1);
+
+        if (end >= length || buffer[end] != '"')
+            return -1;
+
+        int match = matcher.match(buffer, index, end - index);
+        if (match != -1)
+            index = end + 1;
+
+        return match;
+    }
+
+    @Override
+    CharSequence nextTextView(final boolean isFieldName) {
+        int end = scanText(index);
+
+        if (end >= length || buffer[end] != '"')
+            return null;
+
+        AsciiView view = isFieldName ? fieldNameView : textView;
+
+        view.reset(buffer, index, end - index);
+
+        index = end + 1;
+
+        return view;
+    }
+
+    @Override
+    CharSequence nextHashedFieldNameView() {
+        int hash = 0;
+
+        int end = index;
+
+        while (end < length) {
+            // Non-ASCII bytes are negative and end the run, too.
+            byte ch = buffer[end];
+            if (ch < SP || ch == '"' || ch == '\\')
+                break;
+
+            hash = SymbolTable.hash(hash, ch);
+
+            end++;
+        }
+
+        if (end >= length || buffer[end] != '"')
+            return null;
+
+        fieldNameView.reset(buffer, index, end - index);
+
+        index = end + 1;
+
+        setFieldNameHash(hash);
+
+        return fieldNameView;
+    }
+
+    @Override
+    void markText(final StringBuilder text, final int offset) {
+        markIndex = index - offset;
+    }
+
+    @Override
+    void unmarkText(final int offset) {
+        markedTextStart = markIndex;
+        markedTextEnd = index - offset;
+    }
+
+    @Override
+    void appendMarkedText(final StringBuilder text) {
+        for (int i = markedTextStart; i < markedTextEnd; i++)
+            text.append((char)buffer[i]);
+    }
+
+    @Override
+    int nextAsciiChar() throws IOException {
+        if (index < length)
+            return buffer[index++] & 0xff;
+
+        if (endOfInput)
+            return -1;
+
+        throw NOT_AVAILABLE;
+    }
+
+    @Override
+    int nextStructuralAsciiChar() throws IOException {
+        while (index <= length - 8) {
+            long mask = Swar.structuralBytes(Swar.getLong(buffer, index));
+            if (mask != 0) {
+                index += Swar.firstByte(mask);
+
+                return buffer[index++] & 0xff;
+            }
+
+            index += 8;
+        }
+
+        while (index < length) {
+            int ch = buffer[index++] & 0xff;
+            if (ch == '"' || ch == '{' || ch == '[' || ch == '}' || ch == ']')
+                return ch;
+        }
+
+        if (endOfInput)
+            return -1;
+
+        throw NOT_AVAILABLE;
+    }
+
+    @Override
+    void skipText() throws IOException {
+        skippingText = true;
+
+        while (true) {
+            while (index <= length - 8) {
+                long word = Swar.getLong(buffer, index);
+
+                long mask = Swar.equalBytes(word, '"') | Swar.equalBytes(word, '\\');
+                if (mask != 0) {
+                    index += Swar.firstByte(mask);
+
+                    break;
+                }
+
+                index += 8;
+            }
+
+            while (index < length && buffer[index] != '"' && buffer[index] != '\\')
+                index++;
+
+            if (index == length)
+                break;
+
+            if (buffer[index] == '"') {
+                index++;
+
+                skippingText = false;
+
+                return;
+            }
+
+            // Keep a backslash until the escaped character is available.
+            if (index + 1 == length)
+                break;
+
+            index += 2;
+        }
+
+        if (endOfInput)
+            unexpectedEof();
+
+        throw NOT_AVAILABLE;
+    }
+
+    /*
+     * Return the index of the first byte that ends a run of text, starting
+     * from the specified index, or the input length if there is none.
+     */
+    private int scanText(final int start) {
+        int end = start;
+
+        while (end <= length - 8) {
+            long mask = Swar.textEndBytes(Swar.getLong(buffer, end));
+            if (mask != 0)
+                return end + Swar.firstByte(mask);
+
+            end += 8;
+        }
+
+        while (end < length) {
+            // Non-ASCII bytes are negative and end the run, too.
+            byte ch = buffer[end];
+            if (ch < SP || ch == '"' || ch == '\\')
+                break;
+
+            end++;
+        }
+
+        return end;
+    }
+
+    private void notAvailable() {
+        restoreState();
+
+        skippingText = false;
+
+        index = tokenStart;
+
+        needMoreInput = true;
+    }
+
+    private void matchAsciiChar(final char expectedCh) throws IOException {
+        int actualCh = buffer[index++] & 0xff;
+
+        if (actualCh != expectedCh)
+            unexpectedAsciiChar(actualCh, expectedCh);
+    }
+
+    private void ensure(final int count) throws IOException {
+        if (length - index >= count)
+            return;
+
+        if (endOfInput)
+            unexpectedEof();
+
+        throw NOT_AVAILABLE;
+    }
+
+    /*
+     * Signals that the input ends within a token. Preallocated as it is used
+     * for control flow only.
+     */
+    private static class NotAvailableException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+import java.util.Arrays;
+
+/*
+ * A structural index over a byte buffer, as in stage 1 of simdjson. See
+ * "Parsing Gigabytes of JSON per Second" by Geoff Langdale and Daniel Lemire.
+ *
+ * The index has one bit for each byte in the buffer. The bit is set for each
+ * byte that is not whitespace and lies outside of strings, and for each
+ * quote that starts or ends a string. Starting from a position outside of a
+ * string, the next set bit is the next non-whitespace byte.
+ *
+ * Subclasses classify blocks of 64 bytes into quotes, backslashes and
+ * whitespace.
+ */
+abstract class StructuralIndex {
+
+    static final int BLOCK_SIZE = 64;
+
+    private static final String VECTOR_STRUCTURAL_INDEX =
+        "org.fasterjson.jargon.core.VectorStructuralIndex";
+
+    private static final int SP = 0x20;
+
+    // The classification of the current block, one bit per byte.
+    long quotes;
+    long backslashes;
+    long whitespace;
+
+    private long[] bits;
+
+    private final byte[] tail;
+
+    private int start;
+    private int end;
+
+    private boolean valid;
+
+    StructuralIndex(final int bufferSize) {
+        bits = new long[(bufferSize + BLOCK_SIZE - 1) / BLOCK_SIZE];
+
+        tail = new byte[BLOCK_SIZE];
+    }
+
+    /*
+     * Create a new structural index or return null if the Vector API is not
+     * available.
+     */
+    static StructuralIndex create(final int bufferSize) {
+        try {
+            Class<?> type = Class.forName(VECTOR_STRUCTURAL_INDEX);
+
+            return (StructuralIndex)type.getDeclaredConstructor(int.class).newInstance(bufferSize);
+        }
+        catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /*
+     * Classify the block of 64 bytes starting at the specified offset.
+     */
+    abstract void classify(byte[] buffer, int offset);
+
+    /*
+     * Build the index for the specified range of the buffer. The range must
+     * start outside of a string.
+     */
+    final void build(final byte[] buffer, final int start, final int end) {
+        int blocks = (end - start + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        // An in-place input can be larger than the buffer size.
+        if (bits.length < blocks)
+            bits = new long[blocks];
+
+        boolean escapeCarry = false;
+
+        long insideCarry = 0;
+
+        int block = 0;
+
+        for (int offset = start; offset < end; offset += BLOCK_SIZE) {
+            if (end - offset >= BLOCK_SIZE) {
+                classify(buffer, offset);
+            }
+            else {
+                Arrays.fill(tail, (byte)SP);
+
+                System.arraycopy(buffer, offset, tail, 0, end - offset);
+
+                classify(tail, 0);
+            }
+
+            long escaped = escapeCarry ? 1 : 0;
+
+            escapeCarry = false;
+
+            // A backslash escapes the next byte unless it is escaped itself.
+            long escapes = backslashes & ~escaped;
+
+            while (escapes != 0) {
+                long escape = escapes & -escapes;
+
+                if (escape == Long.MIN_VALUE)
+                    escapeCarry = true;
+                else
+                    escaped |= escape << 1;
+
+                escapes &= ~(escape | escape << 1);
+            }
+
+            long unescapedQuotes = quotes & ~escaped;
+
+            long inside = prefixXor(unescapedQuotes) ^ insideCarry;
+
+            insideCarry = inside >> 63;
+
+            bits[block++] = ~whitespace & ~inside | unescapedQuotes;
+        }
+
+        this.start = start;
+        this.end = end;
+
+        this.valid = true;
+    }
+
+    /*
+     * Invalidate this index after the buffer has changed.
+     */
+    final void clear() {
+        valid = false;
+    }
+
+    /*
+     * Return true if this index covers the specified position.
+     */
+    final boolean covers(final int position) {
+        return valid && position >= start;
+    }
+
+    /*
+     * Return the position of the first set bit at or after the specified
+     * position or the end of the index if there is none.
+     */
+    final int next(final int position) {
+        int offset = position - start;
+
+        int block = offset / BLOCK_SIZE;
+
+        long word = bits[block] & -1L << offset;
+
+        int lastBlock = (end - start - 1) / BLOCK_SIZE;
+
+        while (word == 0) {
+            if (block >= lastBlock)
+                return end;
+
+            word = bits[++block];
+        }
+
+        return Math.min(start + block * BLOCK_SIZE + Long.numberOfTrailingZeros(word), end);
+    }
+
+    private static long prefixXor(final long word) {
+        long result = word;
+
+        result ^= result << 1;
+        result ^= result << 2;
+        result ^= result << 4;
+        result ^= result << 8;
+        result ^= result << 16;
+        result ^= result << 32;
+
+        return result;
+    }
+
+}
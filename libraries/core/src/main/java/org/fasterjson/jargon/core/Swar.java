@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+/*
+ * SIMD within a register (SWAR) operations on eight bytes packed into a
+ * long in little-endian order.
+ */
+final class Swar {
+
+    static final long ONES = 0x0101010101010101L;
+
+    static final long HIGH_BITS = 0x8080808080808080L;
+
+    private static final long LOW_BITS = 0x7f7f7f7f7f7f7f7fL;
+
+    // Folds brackets onto braces.
+    private static final long BRACKET_BITS = ONES * ('{' - '[');
+
+    private Swar() {
+    }
+
+    /*
+     * Load eight bytes starting at the specified index.
+     */
+    static long getLong(final byte[] bytes, final int index) {
+        return (bytes[index] & 0xffL) |
+            (bytes[index + 1] & 0xffL) << 8 |
+            (bytes[index + 2] & 0xffL) << 16 |
+            (bytes[index + 3] & 0xffL) << 24 |
+            (bytes[index + 4] & 0xffL) << 32 |
+            (bytes[index + 5] & 0xffL) << 40 |
+            (bytes[index + 6] & 0xffL) << 48 |
+            (bytes[index + 7] & 0xffL) << 56;
+    }
+
+    /*
+     * Return a word with the high bit set in each byte that is zero in the
+     * specified word and all other bits clear.
+     */
+    static long zeroBytes(final long word) {
+        return ~((word & LOW_BITS) + LOW_BITS | word | LOW_BITS);
+    }
+
+    /*
+     * Return a word with the high bit set in each byte that equals the
+     * specified byte value and all other bits clear.
+     */
+    static long equalBytes(final long word, final int value) {
+        return zeroBytes(word ^ ONES * value);
+    }
+
+    /*
+     * Return true if all bytes in the specified word are ASCII digits.
+     */
+    static boolean isEightDigits(final long word) {
+        return ((word + 0x4646464646464646L | word - 0x3030303030303030L) & HIGH_BITS) == 0;
+    }
+
+    /*
+     * Return the value of eight ASCII digits, the first digit being the most
+     * significant one.
+     */
+    static int parseEightDigits(final long word) {
+        long value = word - 0x3030303030303030L;
+
+        value = value * 10 + (value >>> 8);
+
+        return (int)(((value & 0x000000ff000000ffL) * (100 + (1000000L << 32)) +
+                    (value >>> 16 & 0x000000ff000000ffL) * (1 + (10000L << 32))) >>> 32);
+    }
+
+    /*
+     * Return a word with the high bit set in the first byte that is less
+     * than the specified byte value, which must be at most 0x80. Bytes
+     * following the first one may be flagged incorrectly.
+     */
+    static long lessThanBytes(final long word, final int value) {
+        return (word - ONES * value) & ~word & HIGH_BITS;
+    }
+
+    /*
+     * Return the index of the first byte flagged in the specified mask, or
+     * eight if no bytes are flagged.
+     */
+    static int firstByte(final long mask) {
+        return Long.numberOfTrailingZeros(mask) >>> 3;
+    }
+
+    /*
+     * Return a word with the high bit set in each byte that is JSON
+     * whitespace and all other bits clear.
+     */
+    static long whitespaceBytes(final long word) {
+        return equalBytes(word, ' ') | equalBytes(word, '\n') | equalBytes(word, '\r') | equalBytes(word, '\t');
+    }
+
+    /*
+     * Return a word with the high bit set in the first byte that ends a run
+     * of ASCII text: a quote, a backslash, a control character or a
+     * non-ASCII byte. Bytes following the first one may be flagged
+     * incorrectly.
+     */
+    static long textEndBytes(final long word) {
+        // Non-ASCII bytes have the high bit set.
+        return equalBytes(word, '"') | equalBytes(word, '\\') | lessThanBytes(word, ' ') | word & HIGH_BITS;
+    }
+
+    /*
+     * Return a word with the high bit set in each byte that is a quote, a
+     * brace or a bracket and all other bits clear.
+     */
+    static long structuralBytes(final long word) {
+        long braces = word | BRACKET_BITS;
+
+        return equalBytes(word, '"') | equalBytes(braces, '{') | equalBytes(braces, '}');
+    }
+
+}
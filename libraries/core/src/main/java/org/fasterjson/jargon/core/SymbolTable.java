@@ -0,0 +1,247 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+import java.util.Arrays;
+
+/*
+ * A bounded table of canonical field names.
+ *
+ * Each field name is assigned a symbol id in the order of insertion. The ids
+ * are stable for the lifetime of the table and its copies. Once the table
+ * holds the maximum number of symbols, or if a field name collides with too
+ * many others, the field name is not added. The latter bounds the cost of a
+ * lookup when an adversary chooses field names with colliding hashes.
+ */
+final class SymbolTable {
+
+    private static final int MIN_CAPACITY = 64;
+
+    private static final int MAX_PROBES = 16;
+
+    private final int maxSymbolCount;
+
+    // The symbol id plus one for each slot, or zero for an empty slot.
+    private int[] slots;
+
+    private int shift;
+
+    private String[] symbols;
+
+    private int[] hashes;
+
+    private int size;
+
+    SymbolTable(final int maxSymbolCount) {
+        this.maxSymbolCount = maxSymbolCount;
+
+        slots = new int[MIN_CAPACITY];
+
+        shift = Integer.numberOfLeadingZeros(MIN_CAPACITY) + 1;
+
+        symbols = new String[MIN_CAPACITY / 2];
+
+        hashes = new int[MIN_CAPACITY / 2];
+
+        size = 0;
+    }
+
+    private SymbolTable(final SymbolTable table) {
+        maxSymbolCount = table.maxSymbolCount;
+
+        slots = table.slots.clone();
+
+        shift = table.shift;
+
+        symbols = table.symbols.clone();
+
+        hashes = table.hashes.clone();
+
+        size = table.size;
+    }
+
+    /*
+     * Return a copy of this table.
+     */
+    SymbolTable copy() {
+        return new SymbolTable(this);
+    }
+
+    /*
+     * Return the symbol id of a field name, or -1 if the field name has not
+     * been added.
+     */
+    int find(final CharSequence name) {
+        return find(name, hash(name));
+    }
+
+    /*
+     * Return the symbol id of a field name with a precomputed hash, or -1 if
+     * the field name has not been added.
+     */
+    int find(final CharSequence name, final int hash) {
+        int result = probe(name, hash);
+
+        return result >= 0 ? result : -1;
+    }
+
+    /*
+     * Return the symbol id of a field name, adding it if necessary, or -1 if
+     * the field name cannot be added.
+     */
+    int lookup(final CharSequence name) {
+        return lookup(name, hash(name));
+    }
+
+    /*
+     * Return the symbol id of a field name with a precomputed hash, adding it
+     * if necessary, or -1 if the field name cannot be added.
+     */
+    int lookup(final CharSequence name, final int hash) {
+        int result = probe(name, hash);
+        if (result >= -1)
+            return result;
+
+        return add(name, hash, -2 - result);
+    }
+
+    /*
+     * Return true if a field name that has not been added can be added to
+     * this table, without modifying it.
+     */
+    boolean canAdd(final CharSequence name) {
+        if (isFull())
+            return false;
+
+        return probe(name, hash(name)) < -1;
+    }
+
+    boolean isFull() {
+        return size == maxSymbolCount;
+    }
+
+    String symbol(final int id) {
+        return symbols[id];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /*
+     * Return the symbol id of a field name, -2 minus the empty slot for it
+     * if it has not been added, or -1 if there are too many collisions.
+     */
+    private int probe(final CharSequence name, final int hash) {
+        int mask = slots.length - 1;
+
+        int slot = slot(hash);
+
+        for (int probes = 0; probes < MAX_PROBES; probes++) {
+            int id = slots[slot] - 1;
+            if (id == -1)
+                return -2 - slot;
+
+            if (hashes[id] == hash && equals(symbols[id], name))
+                return id;
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    private int add(final CharSequence name, final int hash, final int slot) {
+        if (size == maxSymbolCount)
+            return -1;
+
+        int id = size++;
+
+        if (id == symbols.length) {
+            symbols = Arrays.copyOf(symbols, 2 * id);
+
+            hashes = Arrays.copyOf(hashes, 2 * id);
+        }
+
+        symbols[id] = name.toString();
+
+        hashes[id] = hash;
+
+        slots[slot] = id + 1;
+
+        if (2 * size > slots.length)
+            rehash();
+
+        return id;
+    }
+
+    private void rehash() {
+        slots = new int[2 * slots.length];
+
+        shift--;
+
+        int mask = slots.length - 1;
+
+        for (int id = 0; id < size; id++) {
+            int slot = slot(hashes[id]);
+
+            while (slots[slot] != 0)
+                slot = (slot + 1) & mask;
+
+            slots[slot] = id + 1;
+        }
+    }
+
+    // Fibonacci hashing spreads the similar hashes of similar field names.
+    private int slot(final int hash) {
+        return (hash * 0x9e3779b9) >>> shift;
+    }
+
+    /*
+     * Return the hash of a field name. A parser that computes the hash while
+     * scanning a field name must produce the same value.
+     */
+    static int hash(final CharSequence name) {
+        int hash = 0;
+
+        for (int i = 0; i < name.length(); i++)
+            hash = hash(hash, name.charAt(i));
+
+        return hash;
+    }
+
+    /*
+     * Return the hash of a field name extended by one character.
+     */
+    static int hash(final int hash, final int ch) {
+        return 31 * hash + ch;
+    }
+
+    private static boolean equals(final String symbol, final CharSequence name) {
+        int length = symbol.length();
+
+        if (name.length() != length)
+            return false;
+
+        for (int i = 0; i < length; i++) {
+            if (symbol.charAt(i) != name.charAt(i))
+                return false;
+        }
+
+        return true;
+    }
+
+}
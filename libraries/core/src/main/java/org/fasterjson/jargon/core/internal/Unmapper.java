@@ -0,0 +1,88 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core.internal;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * <p>Unmaps memory-mapped buffers.</p>
+ *
+ * <p>On Java 9 and later, this class unmaps a buffer eagerly. On Java 8, a
+ * buffer is unmapped when it is garbage collected.</p>
+ *
+ * <p><strong>Warning.</strong> This class is unsafe. Accessing a buffer,
+ * or any view of it, after it has been unmapped is not detected and can
+ * crash the JVM. It is internal to Jargon and not part of its API.</p>
+ */
+public final class Unmapper {
+
+    private static final Object UNSAFE;
+
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+
+        Method invokeCleaner = null;
+
+        try {
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+
+            Field field = type.getDeclaredField("theUnsafe");
+
+            field.setAccessible(true);
+
+            unsafe = field.get(null);
+
+            invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+        }
+        catch (ReflectiveOperationException | RuntimeException e) {
+            // The buffer is unmapped when it is garbage collected.
+        }
+
+        UNSAFE = unsafe;
+
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private Unmapper() {
+    }
+
+    /**
+     * <p>Unmap a buffer.</p>
+     *
+     * <p><strong>Warning.</strong> The caller must ensure that the buffer
+     * and any views of it are never accessed after this method returns,
+     * including by other threads. Otherwise, the JVM can crash.</p>
+     *
+     * @param buffer a memory-mapped buffer
+     */
+    public static void unmap(final MappedByteBuffer buffer) {
+        if (INVOKE_CLEANER == null)
+            return;
+
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        }
+        catch (ReflectiveOperationException e) {
+            // The buffer is unmapped when it is garbage collected.
+        }
+    }
+
+}
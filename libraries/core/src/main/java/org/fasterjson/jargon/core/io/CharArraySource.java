@@ -67,6 +67,33 @@ public class CharArraySource implements CharSource {
         this.inputLength = length;
     }
 
+    /**
+     * Get the input document.
+     *
+     * @return the input document
+     */
+    public char[] getInput() {
+        return input;
+    }
+
+    /**
+     * Get the offset of the remaining input within the input document.
+     *
+     * @return the offset of the remaining input
+     */
+    public int getInputOffset() {
+        return inputOffset;
+    }
+
+    /**
+     * Get the length of the remaining input.
+     *
+     * @return the length of the remaining input
+     */
+    public int getInputLength() {
+        return inputLength;
+    }
+
     @Override
     public int read(final char[] buffer, final int offset) {
         if (inputLength == 0)
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import org.fasterjson.jargon.core.ByteJsonParser;
+import org.fasterjson.jargon.core.internal.Unmapper;
+
+/**
+ * <p>A memory-mapped file source.</p>
+ *
+ * <p>This source maps the file in windows of a fixed size and advances the
+ * window as the input is read, so it supports files larger than 2 GB. It
+ * does not close the file channel.</p>
+ *
+ * <p>The current window is unmapped at the end of input. Close this source
+ * to unmap it when the input is not read to the end, for example after a
+ * parse error. A closed source can be reset and used again.</p>
+ *
+ * @see ByteJsonParser
+ */
+public class MappedFileSource implements ByteSource, Closeable {
+
+    /**
+     * The default window size.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 28;
+
+    private final int windowSize;
+
+    private FileChannel channel;
+
+    private long nextWindowPosition;
+
+    private long size;
+
+    private MappedByteBuffer window;
+
+    /**
+     * Construct a new instance using the default window size.
+     */
+    public MappedFileSource() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Construct a new instance using a custom window size.
+     *
+     * @param windowSize the window size
+     */
+    public MappedFileSource(final int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Reset this source.
+     *
+     * @param channel the input file channel
+     * @throws IOException if an I/O error occurs
+     */
+    public void reset(final FileChannel channel) throws IOException {
+        unmapWindow();
+
+        this.channel = channel;
+
+        this.nextWindowPosition = channel.position();
+
+        this.size = channel.size();
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset) throws IOException {
+        if (window == null || !window.hasRemaining()) {
+            unmapWindow();
+
+            if (channel == null || nextWindowPosition >= size)
+                return -1;
+
+            int length = (int)Math.min(windowSize, size - nextWindowPosition);
+
+            window = channel.map(FileChannel.MapMode.READ_ONLY, nextWindowPosition, length);
+
+            nextWindowPosition += length;
+        }
+
+        int count = Math.min(window.remaining(), buffer.length - offset);
+
+        window.get(buffer, offset, count);
+
+        return count;
+    }
+
+    /**
+     * <p>Close this source, unmapping the current window. This does not
+     * close the file channel.</p>
+     *
+     * <p><strong>Note.</strong> This source must not be read after it has
+     * been closed unless it is reset.</p>
+     */
+    @Override
+    public void close() {
+        unmapWindow();
+
+        channel = null;
+    }
+
+    private void unmapWindow() {
+        if (window == null)
+            return;
+
+        Unmapper.unmap(window);
+
+        window = null;
+    }
+
+}
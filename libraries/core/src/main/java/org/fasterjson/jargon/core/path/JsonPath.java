@@ -0,0 +1,421 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core.path;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>A compiled JSONPath expression.</p>
+ *
+ * <p>The following subset of JSONPath is supported:</p>
+ * <ul>
+ *   <li>the root: {@code $}</li>
+ *   <li>a child: {@code .name} or {@code ['name']}</li>
+ *   <li>a wildcard: {@code .*} or {@code [*]}</li>
+ *   <li>an array element: {@code [0]}</li>
+ *   <li>a filter: {@code [?(@.name > 10)]} or {@code [?@.name > 10]}</li>
+ * </ul>
+ *
+ * <p>A filter selects the elements of an array or the values of an object
+ * for which a relative path ({@code @}, {@code @.name} or
+ * {@code @['name']}, possibly nested) exists or, if a comparison is given,
+ * refers to a value that compares to a literal. The supported comparison
+ * operators are {@code ==}, {@code !=}, {@code <}, {@code <=}, {@code >}
+ * and {@code >=}. The supported literals are numbers, strings in single or
+ * double quotes, {@code true}, {@code false} and {@code null}. Values of
+ * different types are never equal. Only numbers are ordered.</p>
+ *
+ * <p>Recursive descent ({@code ..}), slices, unions and functions are not
+ * supported.</p>
+ *
+ * @see JsonPathParser
+ */
+public final class JsonPath {
+
+    private final String expression;
+
+    private final Step[] steps;
+
+    private JsonPath(final String expression, final Step[] steps) {
+        this.expression = expression;
+
+        this.steps = steps;
+    }
+
+    /**
+     * Compile an expression.
+     *
+     * @param expression the expression
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the expression is not valid or not
+     *     supported
+     */
+    public static JsonPath compile(final String expression) {
+        return new JsonPath(expression, new Compiler(expression).compile());
+    }
+
+    Step[] getSteps() {
+        return steps;
+    }
+
+    /**
+     * Returns the expression.
+     *
+     * @return the expression
+     */
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    enum StepType {
+        NAME,
+        INDEX,
+        WILDCARD,
+        FILTER,
+    }
+
+    static final class Step {
+
+        final StepType type;
+
+        final String name;
+
+        final int index;
+
+        final Filter filter;
+
+        Step(final StepType type, final String name, final int index, final Filter filter) {
+            this.type = type;
+
+            this.name = name;
+
+            this.index = index;
+
+            this.filter = filter;
+        }
+
+    }
+
+    enum Operator {
+        EXISTS,
+        EQ,
+        NE,
+        LT,
+        LE,
+        GT,
+        GE,
+    }
+
+    static final class Filter {
+
+        final String[] names;
+
+        final Operator operator;
+
+        // One of Double, String, Boolean or null.
+        final Object literal;
+
+        Filter(final String[] names, final Operator operator, final Object literal) {
+            this.names = names;
+
+            this.operator = operator;
+
+            this.literal = literal;
+        }
+
+    }
+
+    private static class Compiler {
+
+        private final String expression;
+
+        private int index;
+
+        Compiler(final String expression) {
+            this.expression = expression;
+        }
+
+        Step[] compile() {
+            List<Step> steps = new ArrayList<>();
+
+            expect('$');
+
+            while (index < expression.length()) {
+                char ch = next();
+
+                if (ch == '.') {
+                    if (peek() == '.')
+                        unsupported("recursive descent");
+
+                    if (peek() == '*') {
+                        index++;
+
+                        steps.add(new Step(StepType.WILDCARD, null, -1, null));
+                    }
+                    else {
+                        steps.add(new Step(StepType.NAME, name(), -1, null));
+                    }
+                }
+                else if (ch == '[') {
+                    steps.add(bracketStep());
+
+                    skipWhitespace();
+                    expect(']');
+                }
+                else {
+                    invalid("unexpected '" + ch + "'");
+                }
+            }
+
+            return steps.toArray(new Step[0]);
+        }
+
+        private Step bracketStep() {
+            skipWhitespace();
+
+            char ch = peek();
+
+            if (ch == '*') {
+                index++;
+
+                return new Step(StepType.WILDCARD, null, -1, null);
+            }
+
+            if (ch == '\'' || ch == '"')
+                return new Step(StepType.NAME, string(), -1, null);
+
+            if (ch == '?') {
+                index++;
+
+                skipWhitespace();
+
+                if (peek() != '(')
+                    return new Step(StepType.FILTER, null, -1, filter());
+
+                index++;
+
+                Filter filter = filter();
+
+                skipWhitespace();
+                expect(')');
+
+                return new Step(StepType.FILTER, null, -1, filter);
+            }
+
+            if (ch >= '0' && ch <= '9') {
+                int start = index;
+
+                while (peek() >= '0' && peek() <= '9')
+                    index++;
+
+                if (peek() == ':' || peek() == ',')
+                    unsupported("slices and unions");
+
+                return new Step(StepType.INDEX, null, Integer.parseInt(expression.substring(start, index)), null);
+            }
+
+            unsupported("selector at " + index);
+
+            return null;
+        }
+
+        private Filter filter() {
+            expect('@');
+
+            List<String> names = new ArrayList<>();
+
+            while (true) {
+                if (peek() == '.') {
+                    index++;
+
+                    names.add(name());
+                }
+                else if (peek() == '[') {
+                    index++;
+
+                    skipWhitespace();
+                    names.add(string());
+                    skipWhitespace();
+                    expect(']');
+                }
+                else {
+                    break;
+                }
+            }
+
+            skipWhitespace();
+
+            Operator operator = operator();
+            if (operator == Operator.EXISTS)
+                return new Filter(names.toArray(new String[0]), operator, null);
+
+            skipWhitespace();
+
+            return new Filter(names.toArray(new String[0]), operator, literal());
+        }
+
+        private Operator operator() {
+            if (expression.startsWith("==", index)) {
+                index += 2;
+
+                return Operator.EQ;
+            }
+
+            if (expression.startsWith("!=", index)) {
+                index += 2;
+
+                return Operator.NE;
+            }
+
+            if (expression.startsWith("<=", index)) {
+                index += 2;
+
+                return Operator.LE;
+            }
+
+            if (expression.startsWith(">=", index)) {
+                index += 2;
+
+                return Operator.GE;
+            }
+
+            if (peek() == '<') {
+                index++;
+
+                return Operator.LT;
+            }
+
+            if (peek() == '>') {
+                index++;
+
+                return Operator.GT;
+            }
+
+            return Operator.EXISTS;
+        }
+
+        private Object literal() {
+            char ch = peek();
+
+            if (ch == '\'' || ch == '"')
+                return string();
+
+            if (expression.startsWith("true", index)) {
+                index += 4;
+
+                return Boolean.TRUE;
+            }
+
+            if (expression.startsWith("false", index)) {
+                index += 5;
+
+                return Boolean.FALSE;
+            }
+
+            if (expression.startsWith("null", index)) {
+                index += 4;
+
+                return null;
+            }
+
+            int start = index;
+
+            while (index < expression.length() && "+-.0123456789eE".indexOf(expression.charAt(index)) != -1)
+                index++;
+
+            try {
+                return Double.valueOf(expression.substring(start, index));
+            }
+            catch (NumberFormatException e) {
+                invalid("expected a literal at " + start);
+
+                return null;
+            }
+        }
+
+        private String name() {
+            int start = index;
+
+            while (index < expression.length()) {
+                char ch = expression.charAt(index);
+                if (!Character.isLetterOrDigit(ch) && ch != '_' && ch != '-' && ch != '$')
+                    break;
+
+                index++;
+            }
+
+            if (index == start)
+                invalid("expected a name at " + start);
+
+            return expression.substring(start, index);
+        }
+
+        private String string() {
+            char quote = next();
+
+            StringBuilder string = new StringBuilder();
+
+            while (true) {
+                char ch = next();
+
+                if (ch == quote)
+                    break;
+
+                if (ch == '\\')
+                    ch = next();
+
+                string.append(ch);
+            }
+
+            return string.toString();
+        }
+
+        private void skipWhitespace() {
+            while (index < expression.length() && expression.charAt(index) == ' ')
+                index++;
+        }
+
+        private void expect(final char expected) {
+            char actual = next();
+
+            if (actual != expected)
+                invalid("expected '" + expected + "' but got '" + actual + "'");
+        }
+
+        private char peek() {
+            return index < expression.length() ? expression.charAt(index) : 0;
+        }
+
+        private char next() {
+            if (index == expression.length())
+                invalid("unexpected end");
+
+            return expression.charAt(index++);
+        }
+
+        private void invalid(final String message) {
+            throw new IllegalArgumentException("Invalid path " + expression + ": " + message);
+        }
+
+        private void unsupported(final String feature) {
+            throw new IllegalArgumentException("Unsupported path " + expression + ": " + feature);
+        }
+
+    }
+
+}
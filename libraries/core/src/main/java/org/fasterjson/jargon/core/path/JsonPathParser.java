@@ -0,0 +1,408 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core.path;
+
+import java.io.IOException;
+import java.util.Arrays;
+import org.fasterjson.jargon.core.FieldMatcher;
+import org.fasterjson.jargon.core.JsonParseException;
+import org.fasterjson.jargon.core.JsonParser;
+import org.fasterjson.jargon.core.JsonToken;
+
+/**
+ * <p>A JSON parser that returns the values matching a
+ * {@linkplain JsonPath path expression} from another JSON parser.</p>
+ *
+ * <p>This parser returns the tokens of each matching value and then
+ * {@code null} to signal the end of the value. The following invocation of
+ * {@link #nextToken()} returns the first token of the next matching value or
+ * {@code null} if there are no more matching values. For example, a
+ * {@code JsonTree} can be reset from this parser once for each matching
+ * value.</p>
+ *
+ * <p>Objects and arrays that cannot contain a matching value are skipped
+ * using {@link JsonParser#skipChildren()}, so their contents are not
+ * decoded. To evaluate a filter, this parser buffers the candidate value
+ * and replays its tokens if it matches.</p>
+ *
+ * <p>The underlying JSON parser must not return
+ * {@link JsonToken#NOT_AVAILABLE}.</p>
+ */
+public class JsonPathParser implements JsonParser {
+
+    private static final JsonParser EMPTY_PARSER = new TokenBuffer();
+
+    private static final int MIN_DEPTH_CAPACITY = 4;
+
+    private final JsonPath.Step[] steps;
+
+    private final TokenBuffer buffer;
+
+    private JsonParser parser;
+
+    private JsonParser source;
+
+    private int depth;
+
+    private boolean[] arrays;
+
+    private int[] indexes;
+
+    private int valueDepth;
+
+    private boolean valueEnd;
+
+    private JsonToken currentToken;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param path the path expression
+     */
+    public JsonPathParser(final JsonPath path) {
+        steps = path.getSteps();
+
+        buffer = new TokenBuffer();
+
+        arrays = new boolean[MIN_DEPTH_CAPACITY];
+
+        indexes = new int[MIN_DEPTH_CAPACITY];
+
+        reset(EMPTY_PARSER);
+    }
+
+    /**
+     * Reset this instance.
+     *
+     * @param parser the underlying JSON parser
+     */
+    public void reset(final JsonParser parser) {
+        this.parser = parser;
+
+        this.source = parser;
+
+        this.depth = 0;
+
+        this.valueDepth = 0;
+
+        this.valueEnd = false;
+
+        this.currentToken = null;
+    }
+
+    @Override
+    public CharSequence currentName() {
+        return currentToken != null ? source.currentName() : null;
+    }
+
+    @Override
+    public int currentNameId() {
+        return currentToken != null ? source.currentNameId() : -1;
+    }
+
+    @Override
+    public JsonToken currentToken() {
+        return currentToken;
+    }
+
+    @Override
+    public boolean getBooleanValue() throws JsonParseException {
+        if (currentToken == null)
+            throw new JsonParseException("Not a boolean value");
+
+        return source.getBooleanValue();
+    }
+
+    @Override
+    public double getDoubleValue() throws JsonParseException {
+        if (currentToken == null)
+            throw new JsonParseException("Not a double value");
+
+        return source.getDoubleValue();
+    }
+
+    @Override
+    public long getLongValue() throws JsonParseException {
+        if (currentToken == null)
+            throw new JsonParseException("Not a long value");
+
+        return source.getLongValue();
+    }
+
+    @Override
+    public CharSequence getText() {
+        return currentToken != null ? source.getText() : null;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        if (valueEnd) {
+            valueEnd = false;
+
+            return currentToken = null;
+        }
+
+        if (valueDepth > 0)
+            return currentToken = nextValueToken();
+
+        while (true) {
+            JsonToken token = source.nextToken();
+
+            if (token == null) {
+                // The end of a replayed value.
+                if (source != parser) {
+                    source = parser;
+
+                    continue;
+                }
+
+                return currentToken = null;
+            }
+
+            switch (token) {
+            case FIELD_NAME:
+                break;
+            case END_ARRAY:
+            case END_OBJECT:
+                depth--;
+                break;
+            default:
+                if (match(token))
+                    return currentToken = token;
+                break;
+            }
+        }
+    }
+
+    @Override
+    public int nextFieldName(final FieldMatcher matcher) throws IOException {
+        if (nextToken() != JsonToken.FIELD_NAME)
+            return -1;
+
+        return matcher.match(getText());
+    }
+
+    @Override
+    public JsonToken skipValue() throws IOException {
+        nextToken();
+
+        skipChildren();
+
+        return currentToken;
+    }
+
+    @Override
+    public void skipChildren() throws IOException {
+        if (currentToken == null || !currentToken.isStructStart())
+            return;
+
+        source.skipChildren();
+
+        currentToken = source.currentToken();
+
+        valueDepth--;
+
+        if (valueDepth == 0)
+            valueEnd = true;
+    }
+
+    private JsonToken nextValueToken() throws IOException {
+        JsonToken token = source.nextToken();
+
+        if (token.isStructStart())
+            valueDepth++;
+        else if (token.isStructEnd())
+            valueDepth--;
+
+        if (valueDepth == 0)
+            valueEnd = true;
+
+        return token;
+    }
+
+    /*
+     * Match a value at the current depth. Return true if it is to be
+     * returned, otherwise consume or enter it.
+     */
+    private boolean match(final JsonToken token) throws IOException {
+        if (depth > 0) {
+            int level = depth - 1;
+
+            if (arrays[level])
+                indexes[level]++;
+
+            JsonPath.Step step = steps[level];
+
+            switch (step.type) {
+            case NAME:
+                if (arrays[level] || !contentEquals(source.currentName(), step.name)) {
+                    source.skipChildren();
+
+                    return false;
+                }
+                break;
+            case INDEX:
+                if (!arrays[level] || indexes[level] != step.index) {
+                    source.skipChildren();
+
+                    return false;
+                }
+                break;
+            case WILDCARD:
+                break;
+            case FILTER:
+                if (!matchFilter(step.filter))
+                    return false;
+                break;
+            }
+        }
+
+        if (depth == steps.length) {
+            if (token.isStructStart())
+                valueDepth = 1;
+            else
+                valueEnd = true;
+
+            return true;
+        }
+
+        if (token.isStructStart()) {
+            if (depth == arrays.length) {
+                arrays = Arrays.copyOf(arrays, 2 * depth);
+
+                indexes = Arrays.copyOf(indexes, 2 * depth);
+            }
+
+            arrays[depth] = token == JsonToken.START_ARRAY;
+
+            indexes[depth] = -1;
+
+            depth++;
+        }
+
+        return false;
+    }
+
+    private boolean matchFilter(final JsonPath.Filter filter) throws IOException {
+        // Record the value unless it is already being replayed.
+        if (source == parser) {
+            buffer.record(parser);
+
+            if (!test(filter, buffer.position()))
+                return false;
+
+            source = buffer;
+
+            return true;
+        }
+
+        if (!test(filter, buffer.position())) {
+            buffer.skipChildren();
+
+            return false;
+        }
+
+        return true;
+    }
+
+    private boolean test(final JsonPath.Filter filter, final int start) {
+        int position = start;
+
+        for (String name : filter.names) {
+            position = field(position, name);
+            if (position == -1)
+                return false;
+        }
+
+        if (filter.operator == JsonPath.Operator.EXISTS)
+            return true;
+
+        JsonToken token = buffer.tokenAt(position);
+        Object literal = filter.literal;
+
+        int comparison;
+
+        if (literal instanceof Double && token.isNumeric())
+            comparison = Double.compare(buffer.doubleValueAt(position), (Double)literal);
+        else if (literal instanceof String && token == JsonToken.VALUE_STRING)
+            comparison = contentEquals(buffer.textAt(position), (String)literal) ? 0 : 1;
+        else if (literal instanceof Boolean && token.isBoolean())
+            comparison = (token == JsonToken.VALUE_TRUE) == (Boolean)literal ? 0 : 1;
+        else if (literal == null && token == JsonToken.VALUE_NULL)
+            comparison = 0;
+        else
+            return filter.operator == JsonPath.Operator.NE;
+
+        switch (filter.operator) {
+        case EQ:
+            return comparison == 0;
+        case NE:
+            return comparison != 0;
+        default:
+            break;
+        }
+
+        // Only numbers are ordered.
+        if (!(literal instanceof Double))
+            return false;
+
+        switch (filter.operator) {
+        case LT:
+            return comparison < 0;
+        case LE:
+            return comparison <= 0;
+        case GT:
+            return comparison > 0;
+        case GE:
+            return comparison >= 0;
+        default:
+            return false;
+        }
+    }
+
+    /*
+     * Return the index of the value of the specified field in the object
+     * starting at the specified index, or -1 if there is none.
+     */
+    private int field(final int start, final String name) {
+        if (buffer.tokenAt(start) != JsonToken.START_OBJECT)
+            return -1;
+
+        int position = start + 1;
+
+        while (buffer.tokenAt(position) == JsonToken.FIELD_NAME) {
+            if (contentEquals(buffer.textAt(position), name))
+                return position + 1;
+
+            position = buffer.endOf(position + 1) + 1;
+        }
+
+        return -1;
+    }
+
+    private static boolean contentEquals(final CharSequence text, final String string) {
+        if (text == null || text.length() != string.length())
+            return false;
+
+        for (int i = 0; i < string.length(); i++) {
+            if (text.charAt(i) != string.charAt(i))
+                return false;
+        }
+
+        return true;
+    }
+
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core.path;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.fasterjson.jargon.core.JsonParser;
+import org.fasterjson.jargon.core.JsonToken;
+
+/**
+ * <p>A JSON Pointer router.</p>
+ *
+ * <p>A router dispatches the values at the JSON Pointers (RFC 6901) that its
+ * subscribers have subscribed to. It compiles the pointers into a trie over
+ * field names and array indexes and routes a document in one pass over the
+ * token stream, skipping the subtrees that no pointer leads into using
+ * {@link JsonParser#skipChildren()}. The cost of routing a document depends
+ * on the size of the document and the number of matched values but not on
+ * the number of subscriptions.</p>
+ *
+ * <p>A reference token that is an array index, such as {@code 0}, matches
+ * both the element at that index in an array and the field with that name in
+ * an object. The reference token {@code -} never matches.</p>
+ *
+ * <p>A router is not thread-safe.</p>
+ */
+public class JsonPointerRouter {
+
+    private final Node root;
+
+    private final List<TokenBuffer> buffers;
+
+    /**
+     * Construct a new instance.
+     */
+    public JsonPointerRouter() {
+        root = new Node();
+
+        buffers = new ArrayList<>();
+    }
+
+    /**
+     * Subscribe to a JSON Pointer.
+     *
+     * @param pointer a JSON Pointer, such as {@code /orders/0/id}
+     * @param subscriber a subscriber
+     * @throws IllegalArgumentException if the JSON Pointer is invalid
+     */
+    public void subscribe(final String pointer, final Subscriber subscriber) {
+        if (!pointer.isEmpty() && pointer.charAt(0) != '/')
+            invalidPointer(pointer);
+
+        Node node = root;
+
+        int start = 1;
+
+        while (start <= pointer.length()) {
+            int end = pointer.indexOf('/', start);
+            if (end == -1)
+                end = pointer.length();
+
+            node = node.add(unescape(pointer, start, end));
+
+            start = end + 1;
+        }
+
+        node.subscribers.add(subscriber);
+    }
+
+    /**
+     * <p>Route the tokens from a JSON parser until it returns {@code null}.</p>
+     *
+     * <p>Each value at a subscribed JSON Pointer is dispatched to each of its
+     * subscribers in the order of subscription. A value nested in another
+     * dispatched value is dispatched after it.</p>
+     *
+     * @param parser a JSON parser
+     * @throws IOException if an I/O error occurs
+     */
+    public void route(final JsonParser parser) throws IOException {
+        while (parser.nextToken() != null)
+            route(parser, root, 0);
+    }
+
+    private void route(final JsonParser parser, final Node node, final int level) throws IOException {
+        if (node.subscribers.isEmpty()) {
+            routeChildren(parser, node, level);
+
+            return;
+        }
+
+        if (level == buffers.size())
+            buffers.add(new TokenBuffer());
+
+        TokenBuffer buffer = buffers.get(level);
+
+        buffer.record(parser);
+
+        for (int i = 0; i < node.subscribers.size(); i++) {
+            buffer.rewind();
+
+            node.subscribers.get(i).accept(buffer);
+        }
+
+        if (node.isLeaf())
+            return;
+
+        buffer.rewind();
+
+        routeChildren(buffer, node, level + 1);
+    }
+
+    private void routeChildren(final JsonParser parser, final Node node, final int level) throws IOException {
+        JsonToken token = parser.currentToken();
+
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                Node child = node.getField(parser.currentName());
+
+                parser.nextToken();
+
+                if (child != null)
+                    route(parser, child, level);
+                else
+                    parser.skipChildren();
+            }
+        }
+        else if (token == JsonToken.START_ARRAY) {
+            int index = 0;
+
+            while (true) {
+                token = parser.nextToken();
+                if (token == null || token == JsonToken.END_ARRAY)
+                    break;
+
+                Node child = node.getElement(index++);
+
+                if (child != null)
+                    route(parser, child, level);
+                else
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * A subscriber.
+     */
+    @FunctionalInterface
+    public interface Subscriber {
+
+        /**
+         * Accept a value. The current token of the JSON parser is the first
+         * token of the value. After the last token of the value, the JSON
+         * parser returns {@code null}. The JSON parser is only valid during
+         * the invocation of this method.
+         *
+         * @param value a JSON parser over the value
+         * @throws IOException if an I/O error occurs
+         */
+        void accept(JsonParser value) throws IOException;
+
+    }
+
+    private static class Node {
+
+        private static final int MIN_CAPACITY = 4;
+
+        final List<Subscriber> subscribers;
+
+        // An open-addressed hash table of field names.
+        private String[] fieldNames;
+        private Node[] fields;
+
+        private int fieldCount;
+
+        // The sorted array indexes.
+        private int[] indexes;
+        private Node[] elements;
+
+        Node() {
+            subscribers = new ArrayList<>(1);
+
+            fieldNames = new String[MIN_CAPACITY];
+            fields = new Node[MIN_CAPACITY];
+
+            fieldCount = 0;
+
+            indexes = new int[0];
+            elements = new Node[0];
+        }
+
+        boolean isLeaf() {
+            return fieldCount == 0;
+        }
+
+        Node add(final String token) {
+            Node child = getField(token);
+            if (child != null)
+                return child;
+
+            child = new Node();
+
+            if (2 * (fieldCount + 1) > fieldNames.length)
+                rehash();
+
+            putField(token, child);
+
+            int index = parseIndex(token);
+            if (index != -1) {
+                int insertionPoint = -Arrays.binarySearch(indexes, index) - 1;
+
+                indexes = insert(indexes, insertionPoint, index);
+                elements = insert(elements, insertionPoint, child);
+            }
+
+            return child;
+        }
+
+        Node getField(final CharSequence fieldName) {
+            int length = fieldName.length();
+
+            int mask = fieldNames.length - 1;
+
+            for (int i = hash(fieldName) & mask; ; i = (i + 1) & mask) {
+                String candidate = fieldNames[i];
+                if (candidate == null)
+                    return null;
+
+                if (candidate.length() == length && candidate.contentEquals(fieldName))
+                    return fields[i];
+            }
+        }
+
+        Node getElement(final int index) {
+            if (indexes.length == 0)
+                return null;
+
+            int i = Arrays.binarySearch(indexes, index);
+
+            return i >= 0 ? elements[i] : null;
+        }
+
+        private void putField(final String fieldName, final Node child) {
+            int mask = fieldNames.length - 1;
+
+            int i = hash(fieldName) & mask;
+
+            while (fieldNames[i] != null)
+                i = (i + 1) & mask;
+
+            fieldNames[i] = fieldName;
+            fields[i] = child;
+
+            fieldCount++;
+        }
+
+        private void rehash() {
+            String[] oldFieldNames = fieldNames;
+            Node[] oldFields = fields;
+
+            fieldNames = new String[2 * oldFieldNames.length];
+            fields = new Node[2 * oldFields.length];
+
+            fieldCount = 0;
+
+            for (int i = 0; i < oldFieldNames.length; i++) {
+                if (oldFieldNames[i] != null)
+                    putField(oldFieldNames[i], oldFields[i]);
+            }
+        }
+
+        private static int hash(final CharSequence value) {
+            int hash = 0;
+
+            for (int i = 0; i < value.length(); i++)
+                hash = 31 * hash + value.charAt(i);
+
+            return hash ^ (hash >>> 16);
+        }
+
+        private static int[] insert(final int[] array, final int index, final int value) {
+            int[] result = new int[array.length + 1];
+
+            System.arraycopy(array, 0, result, 0, index);
+            result[index] = value;
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+
+            return result;
+        }
+
+        private static Node[] insert(final Node[] array, final int index, final Node value) {
+            Node[] result = new Node[array.length + 1];
+
+            System.arraycopy(array, 0, result, 0, index);
+            result[index] = value;
+            System.arraycopy(array, index, result, index + 1, array.length - index);
+
+            return result;
+        }
+
+    }
+
+    /*
+     * Return the array index for a reference token, or -1 if the reference
+     * token is not an array index.
+     */
+    private static int parseIndex(final String token) {
+        if (token.isEmpty() || token.length() > 9)
+            return -1;
+
+        if (token.charAt(0) == '0')
+            return token.length() == 1 ? 0 : -1;
+
+        int index = 0;
+
+        for (int i = 0; i < token.length(); i++) {
+            char ch = token.charAt(i);
+            if (ch < '0' || ch > '9')
+                return -1;
+
+            index = 10 * index + (ch - '0');
+        }
+
+        return index;
+    }
+
+    private static String unescape(final String pointer, final int start, final int end) {
+        int escape = pointer.indexOf('~', start);
+        if (escape == -1 || escape >= end)
+            return pointer.substring(start, end);
+
+        StringBuilder token = new StringBuilder(end - start);
+
+        for (int i = start; i < end; i++) {
+            char ch = pointer.charAt(i);
+
+            if (ch == '~') {
+                char next = i + 1 < end ? pointer.charAt(++i) : 0;
+
+                if (next == '0')
+                    ch = '~';
+                else if (next == '1')
+                    ch = '/';
+                else
+                    invalidPointer(pointer);
+            }
+
+            token.append(ch);
+        }
+
+        return token.toString();
+    }
+
+    private static void invalidPointer(final String pointer) {
+        throw new IllegalArgumentException("Invalid JSON Pointer: " + pointer);
+    }
+
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core.path;
+
+import java.io.IOException;
+import java.util.Arrays;
+import org.fasterjson.jargon.core.FieldMatcher;
+import org.fasterjson.jargon.core.JsonParseException;
+import org.fasterjson.jargon.core.JsonParser;
+import org.fasterjson.jargon.core.JsonToken;
+
+/*
+ * Records a value from a JSON parser and replays it.
+ */
+class TokenBuffer implements JsonParser {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private JsonToken[] tokens;
+
+    private StringBuilder[] texts;
+
+    private int[] nameIds;
+
+    private long[] longValues;
+    private double[] doubleValues;
+
+    // The index of the matching end token for a start token.
+    private int[] ends;
+
+    private int[] starts;
+
+    private final StringBuilder name;
+
+    private boolean hasName;
+
+    private int nameId;
+
+    private int length;
+
+    private int index;
+
+    TokenBuffer() {
+        tokens = new JsonToken[MIN_CAPACITY];
+
+        texts = new StringBuilder[MIN_CAPACITY];
+
+        nameIds = new int[MIN_CAPACITY];
+
+        longValues = new long[MIN_CAPACITY];
+        doubleValues = new double[MIN_CAPACITY];
+
+        ends = new int[MIN_CAPACITY];
+
+        starts = new int[MIN_CAPACITY];
+
+        name = new StringBuilder();
+
+        length = 0;
+
+        index = -1;
+    }
+
+    /*
+     * Record the current value of the parser, consuming it up to its last
+     * token, and position this instance on the first token of the value.
+     */
+    void record(final JsonParser parser) throws IOException {
+        length = 0;
+
+        CharSequence currentName = parser.currentName();
+
+        hasName = currentName != null;
+
+        name.setLength(0);
+        if (hasName)
+            name.append(currentName);
+
+        nameId = parser.currentNameId();
+
+        int depth = 0;
+
+        JsonToken token = parser.currentToken();
+
+        while (true) {
+            append(parser, token);
+
+            if (token.isStructStart()) {
+                if (depth == starts.length)
+                    starts = Arrays.copyOf(starts, 2 * depth);
+
+                starts[depth++] = length - 1;
+            }
+            else if (token.isStructEnd()) {
+                ends[starts[--depth]] = length - 1;
+            }
+
+            if (depth == 0)
+                break;
+
+            token = parser.nextToken();
+            if (token == null)
+                throw new JsonParseException("Unexpected end of input");
+        }
+
+        index = 0;
+    }
+
+    private void append(final JsonParser parser, final JsonToken token) throws JsonParseException {
+        if (length == tokens.length)
+            increaseCapacity();
+
+        tokens[length] = token;
+
+        ends[length] = length;
+
+        switch (token) {
+        case VALUE_NUMBER_INT:
+            longValues[length] = parser.getLongValue();
+            doubleValues[length] = parser.getDoubleValue();
+            setText(parser.getText());
+            break;
+        case VALUE_NUMBER_FLOAT:
+            doubleValues[length] = parser.getDoubleValue();
+            setText(parser.getText());
+            break;
+        case FIELD_NAME:
+            nameIds[length] = parser.currentNameId();
+            setText(parser.getText());
+            break;
+        case VALUE_STRING:
+            setText(parser.getText());
+            break;
+        default:
+            break;
+        }
+
+        length++;
+    }
+
+    private void setText(final CharSequence text) {
+        StringBuilder builder = texts[length];
+
+        if (builder == null) {
+            builder = new StringBuilder();
+
+            texts[length] = builder;
+        }
+
+        builder.setLength(0);
+        builder.append(text);
+    }
+
+    private void increaseCapacity() {
+        int capacity = 2 * tokens.length;
+
+        tokens = Arrays.copyOf(tokens, capacity);
+
+        texts = Arrays.copyOf(texts, capacity);
+
+        nameIds = Arrays.copyOf(nameIds, capacity);
+
+        longValues = Arrays.copyOf(longValues, capacity);
+        doubleValues = Arrays.copyOf(doubleValues, capacity);
+
+        ends = Arrays.copyOf(ends, capacity);
+    }
+
+    /*
+     * Position this instance on the first token of the recorded value.
+     */
+    void rewind() {
+        index = 0;
+    }
+
+    /*
+     * Return the index of the current token.
+     */
+    int position() {
+        return index;
+    }
+
+    JsonToken tokenAt(final int position) {
+        return tokens[position];
+    }
+
+    CharSequence textAt(final int position) {
+        return texts[position];
+    }
+
+    double doubleValueAt(final int position) {
+        return doubleValues[position];
+    }
+
+    /*
+     * Return the index of the last token of the value starting at the
+     * specified index.
+     */
+    int endOf(final int position) {
+        return ends[position];
+    }
+
+    @Override
+    public CharSequence currentName() {
+        if (index < 0 || index >= length)
+            return null;
+
+        if (tokens[index] == JsonToken.FIELD_NAME)
+            return texts[index];
+
+        if (index == 0)
+            return hasName ? name : null;
+
+        if (tokens[index - 1] == JsonToken.FIELD_NAME && !tokens[index].isStructEnd())
+            return texts[index - 1];
+
+        return null;
+    }
+
+    @Override
+    public int currentNameId() {
+        if (index < 0 || index >= length)
+            return -1;
+
+        if (tokens[index] == JsonToken.FIELD_NAME)
+            return nameIds[index];
+
+        if (index == 0)
+            return nameId;
+
+        if (tokens[index - 1] == JsonToken.FIELD_NAME && !tokens[index].isStructEnd())
+            return nameIds[index - 1];
+
+        return -1;
+    }
+
+    @Override
+    public JsonToken currentToken() {
+        return index >= 0 && index < length ? tokens[index] : null;
+    }
+
+    @Override
+    public boolean getBooleanValue() throws JsonParseException {
+        JsonToken token = currentToken();
+
+        if (token == null || !token.isBoolean())
+            throw new JsonParseException("Not a boolean value");
+
+        return token == JsonToken.VALUE_TRUE;
+    }
+
+    @Override
+    public double getDoubleValue() throws JsonParseException {
+        JsonToken token = currentToken();
+
+        if (token == null || !token.isNumeric())
+            throw new JsonParseException("Not a double value");
+
+        return doubleValues[index];
+    }
+
+    @Override
+    public long getLongValue() throws JsonParseException {
+        if (currentToken() != JsonToken.VALUE_NUMBER_INT)
+            throw new JsonParseException("Not a long value");
+
+        return longValues[index];
+    }
+
+    @Override
+    public CharSequence getText() {
+        JsonToken token = currentToken();
+
+        if (token == null)
+            return null;
+
+        switch (token) {
+        case FIELD_NAME:
+        case VALUE_NUMBER_FLOAT:
+        case VALUE_NUMBER_INT:
+        case VALUE_STRING:
+            return texts[index];
+        default:
+            return token.asString();
+        }
+    }
+
+    @Override
+    public JsonToken nextToken() {
+        if (index < length)
+            index++;
+
+        return currentToken();
+    }
+
+    @Override
+    public int nextFieldName(final FieldMatcher matcher) {
+        if (nextToken() != JsonToken.FIELD_NAME)
+            return -1;
+
+        return matcher.match(getText());
+    }
+
+    @Override
+    public JsonToken skipValue() {
+        nextToken();
+
+        skipChildren();
+
+        return currentToken();
+    }
+
+    @Override
+    public void skipChildren() {
+        if (index >= 0 && index < length)
+            index = ends[index];
+    }
+
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core.pool;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>A bounded, lock-free object pool.</p>
+ *
+ * <p>This class pools reusable objects, such as JSON parsers, sources and
+ * JSON trees, across threads. Unlike a thread-local cache, the number of
+ * retained objects does not depend on the number of threads, which makes it
+ * suitable for applications that run a large number of virtual threads.</p>
+ *
+ * <p>{@link ObjectPoolConfig} specifies size classes. The object pool
+ * estimates the number of bytes retained by an object using a sizer when
+ * the object is released, and retains it in the smallest size class that
+ * fits, up to the capacity of the size class. An object that is larger than
+ * the largest size class or that does not fit in its size class is
+ * discarded. Acquiring an object takes one from the smallest non-empty size
+ * class or, if all of them are empty, creates a new one.</p>
+ *
+ * <p>Each size class is divided into stripes. A thread first searches for
+ * an object or a free slot in the stripe that corresponds to it, so that
+ * concurrent threads mostly operate on different slots. If its own stripe
+ * of every size class is empty, acquiring an object scans the other stripes
+ * once before creating a new object, so an object released by one thread
+ * can be acquired by another. Each pass searches the size classes from
+ * the smallest one. As a result, acquiring an object from an empty pool
+ * scans every slot. An object that does not fit in the stripe of the
+ * releasing thread is discarded.</p>
+ *
+ * <p>This class implements {@link ObjectPoolMXBean}, so it can be registered
+ * with an MBean server to expose its statistics.</p>
+ *
+ * @param <T> the type of pooled objects
+ */
+public class ObjectPool<T> implements ObjectPoolMXBean {
+
+    private final Supplier<? extends T> factory;
+
+    private final ToLongFunction<? super T> sizer;
+
+    private final int stripeCount;
+
+    private final SizeClass<T>[] sizeClasses;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder discards;
+
+    private final LongAdder retainedObjects;
+    private final LongAdder retainedBytes;
+
+    /**
+     * Construct a new instance using the default configuration. The objects
+     * are not sized, so the number of retained bytes is always zero.
+     *
+     * @param factory the object factory
+     */
+    public ObjectPool(final Supplier<? extends T> factory) {
+        this(factory, object -> 0, ObjectPoolConfig.DEFAULTS);
+    }
+
+    /**
+     * Construct a new instance using a custom configuration.
+     *
+     * @param factory the object factory
+     * @param sizer a function that estimates the number of bytes retained by
+     *     an object
+     * @param config the configuration
+     */
+    @SuppressWarnings("unchecked")
+    public ObjectPool(final Supplier<? extends T> factory, final ToLongFunction<? super T> sizer,
+            final ObjectPoolConfig config) {
+        this.factory = factory;
+
+        this.sizer = sizer;
+
+        this.stripeCount = Math.max(config.getStripeCount(), 1);
+
+        this.sizeClasses = (SizeClass<T>[])new SizeClass<?>[config.getSizeClassCount()];
+
+        for (int i = 0; i < sizeClasses.length; i++) {
+            sizeClasses[i] = new SizeClass<>(config.getSizeClassMaxRetainedBytes(i),
+                    config.getSizeClassCapacity(i), stripeCount);
+        }
+
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.discards = new LongAdder();
+
+        this.retainedObjects = new LongAdder();
+        this.retainedBytes = new LongAdder();
+    }
+
+    /**
+     * Acquire an object. The object is either taken from this pool or
+     * created using the object factory.
+     *
+     * @return an object
+     */
+    public T acquire() {
+        int stripe = stripe();
+
+        for (int i = 0; i < sizeClasses.length; i++) {
+            T object = sizeClasses[i].poll(stripe);
+            if (object != null)
+                return hit(object);
+        }
+
+        for (int i = 0; i < sizeClasses.length; i++) {
+            T object = sizeClasses[i].pollOther(stripe);
+            if (object != null)
+                return hit(object);
+        }
+
+        misses.increment();
+
+        return factory.get();
+    }
+
+    /**
+     * <p>Release an object to this pool.</p>
+     *
+     * <p><strong>Note.</strong> The object must not be used after it has
+     * been released.</p>
+     *
+     * @param object an object
+     * @throws NullPointerException if the object is {@code null}
+     */
+    public void release(final T object) {
+        Objects.requireNonNull(object);
+
+        long size = sizer.applyAsLong(object);
+
+        for (int i = 0; i < sizeClasses.length; i++) {
+            SizeClass<T> sizeClass = sizeClasses[i];
+            if (size > sizeClass.maxRetainedBytes)
+                continue;
+
+            if (sizeClass.offer(stripe(), object)) {
+                retainedObjects.increment();
+                retainedBytes.add(size);
+
+                return;
+            }
+
+            break;
+        }
+
+        discards.increment();
+    }
+
+    /**
+     * Discard all retained objects.
+     */
+    public void clear() {
+        for (int i = 0; i < sizeClasses.length; i++) {
+            SizeClass<T> sizeClass = sizeClasses[i];
+
+            while (true) {
+                T object = sizeClass.pollAny();
+                if (object == null)
+                    break;
+
+                retainedObjects.decrement();
+                retainedBytes.add(-sizer.applyAsLong(object));
+            }
+        }
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getDiscards() {
+        return discards.sum();
+    }
+
+    @Override
+    public long getRetainedObjects() {
+        return retainedObjects.sum();
+    }
+
+    @Override
+    public long getRetainedBytes() {
+        return retainedBytes.sum();
+    }
+
+    private T hit(final T object) {
+        hits.increment();
+
+        retainedObjects.decrement();
+        retainedBytes.add(-sizer.applyAsLong(object));
+
+        return object;
+    }
+
+    private int stripe() {
+        // Spread the identity hash code of the current thread.
+        int hash = Thread.currentThread().hashCode() * 0x9e3779b9;
+
+        return (hash >>> 1) % stripeCount;
+    }
+
+    private static class SizeClass<T> {
+
+        final long maxRetainedBytes;
+
+        final AtomicReferenceArray<T> slots;
+
+        final int stripeCount;
+
+        SizeClass(final long maxRetainedBytes, final int capacity, final int stripeCount) {
+            this.maxRetainedBytes = maxRetainedBytes;
+
+            this.slots = new AtomicReferenceArray<>(capacity);
+
+            this.stripeCount = stripeCount;
+        }
+
+        T poll(final int stripe) {
+            int end = end(stripe);
+
+            for (int index = start(stripe); index < end; index++) {
+                T object = slots.get(index);
+                if (object != null && slots.compareAndSet(index, object, null))
+                    return object;
+            }
+
+            return null;
+        }
+
+        /*
+         * Scan the slots outside the stripe, starting after it and wrapping
+         * around, so that threads in different stripes start elsewhere.
+         */
+        T pollOther(final int stripe) {
+            int start = start(stripe);
+            int end = end(stripe);
+
+            int length = slots.length();
+
+            for (int i = 0; i < length - (end - start); i++) {
+                int index = (end + i) % length;
+
+                T object = slots.get(index);
+                if (object != null && slots.compareAndSet(index, object, null))
+                    return object;
+            }
+
+            return null;
+        }
+
+        boolean offer(final int stripe, final T object) {
+            int end = end(stripe);
+
+            for (int index = start(stripe); index < end; index++) {
+                if (slots.get(index) == null && slots.compareAndSet(index, null, object))
+                    return true;
+            }
+
+            return false;
+        }
+
+        T pollAny() {
+            for (int index = 0; index < slots.length(); index++) {
+                T object = slots.getAndSet(index, null);
+                if (object != null)
+                    return object;
+            }
+
+            return null;
+        }
+
+        private int start(final int stripe) {
+            return (int)((long)stripe * slots.length() / stripeCount);
+        }
+
+        /*
+         * A stripe has at least one slot, which it shares with the adjacent
+         * stripes if there are fewer slots than stripes.
+         */
+        private int end(final int stripe) {
+            int start = start(stripe);
+
+            return Math.min(Math.max(start(stripe + 1), start + 1), slots.length());
+        }
+
+    }
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core.pool;
+
+import java.util.Arrays;
+
+/**
+ * An object pool configuration.
+ */
+public class ObjectPoolConfig {
+
+    /**
+     * The default number of stripes, the number of available processors.
+     */
+    public static final int DEFAULT_STRIPE_COUNT = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The default capacity of an object pool without size classes.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The defaults.
+     */
+    public static final ObjectPoolConfig DEFAULTS = ObjectPoolConfig.newBuilder().build();
+
+    private final int stripeCount;
+
+    private final long[] sizeClassMaxRetainedBytes;
+    private final int[] sizeClassCapacities;
+
+    private ObjectPoolConfig(final int stripeCount, final long[] sizeClassMaxRetainedBytes,
+            final int[] sizeClassCapacities) {
+        this.stripeCount = stripeCount;
+
+        this.sizeClassMaxRetainedBytes = sizeClassMaxRetainedBytes;
+        this.sizeClassCapacities = sizeClassCapacities;
+    }
+
+    /**
+     * Create a new configuration builder.
+     *
+     * @return a new configuration builder
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Get the number of stripes. The object pool spreads concurrent threads
+     * over this many regions of each size class to reduce contention.
+     *
+     * @return the number of stripes
+     */
+    public int getStripeCount() {
+        return stripeCount;
+    }
+
+    /**
+     * Get the number of size classes.
+     *
+     * @return the number of size classes
+     */
+    public int getSizeClassCount() {
+        return sizeClassCapacities.length;
+    }
+
+    /**
+     * Get the maximum estimated number of bytes retained by an object in a
+     * size class. The size classes are ordered by this value.
+     *
+     * @param sizeClass the size class
+     * @return the maximum estimated number of bytes retained by an object
+     */
+    public long getSizeClassMaxRetainedBytes(final int sizeClass) {
+        return sizeClassMaxRetainedBytes[sizeClass];
+    }
+
+    /**
+     * Get the maximum number of objects retained in a size class.
+     *
+     * @param sizeClass the size class
+     * @return the maximum number of objects retained
+     */
+    public int getSizeClassCapacity(final int sizeClass) {
+        return sizeClassCapacities[sizeClass];
+    }
+
+    /**
+     * An object pool configuration builder.
+     */
+    public static class Builder {
+
+        private int stripeCount;
+
+        private long[] sizeClassMaxRetainedBytes;
+        private int[] sizeClassCapacities;
+
+        private Builder() {
+            stripeCount = DEFAULT_STRIPE_COUNT;
+
+            sizeClassMaxRetainedBytes = new long[0];
+            sizeClassCapacities = new int[0];
+        }
+
+        /**
+         * Set the number of stripes.
+         *
+         * @param stripeCount the number of stripes
+         * @return this instance
+         * @see ObjectPoolConfig#getStripeCount
+         */
+        public Builder setStripeCount(final int stripeCount) {
+            this.stripeCount = stripeCount;
+
+            return this;
+        }
+
+        /**
+         * Add a size class. An object that retains an estimated number of
+         * bytes less than or equal to the specified maximum belongs to the
+         * smallest such size class. If no size classes are added, the object
+         * pool has a single size class for objects of any size with the
+         * {@linkplain ObjectPoolConfig#DEFAULT_CAPACITY default capacity}.
+         *
+         * @param maxRetainedBytes the maximum estimated number of bytes
+         *     retained by an object
+         * @param capacity the maximum number of objects retained
+         * @return this instance
+         * @see ObjectPoolConfig#getSizeClassMaxRetainedBytes
+         * @see ObjectPoolConfig#getSizeClassCapacity
+         */
+        public Builder addSizeClass(final long maxRetainedBytes, final int capacity) {
+            int count = sizeClassCapacities.length;
+
+            sizeClassMaxRetainedBytes = Arrays.copyOf(sizeClassMaxRetainedBytes, count + 1);
+            sizeClassCapacities = Arrays.copyOf(sizeClassCapacities, count + 1);
+
+            sizeClassMaxRetainedBytes[count] = maxRetainedBytes;
+            sizeClassCapacities[count] = capacity;
+
+            return this;
+        }
+
+        /**
+         * Build the object pool configuration.
+         *
+         * @return the object pool configuration
+         */
+        public ObjectPoolConfig build() {
+            int count = sizeClassCapacities.length;
+
+            if (count == 0)
+                return new ObjectPoolConfig(stripeCount, new long[] { Long.MAX_VALUE }, new int[] { DEFAULT_CAPACITY });
+
+            long[] maxRetainedBytes = new long[count];
+            int[] capacities = new int[count];
+
+            // Order the size classes by the maximum estimated number of bytes.
+            Integer[] order = new Integer[count];
+
+            for (int i = 0; i < count; i++)
+                order[i] = i;
+
+            Arrays.sort(order, (a, b) -> Long.compare(sizeClassMaxRetainedBytes[a], sizeClassMaxRetainedBytes[b]));
+
+            for (int i = 0; i < count; i++) {
+                maxRetainedBytes[i] = sizeClassMaxRetainedBytes[order[i]];
+                capacities[i] = sizeClassCapacities[order[i]];
+            }
+
+            return new ObjectPoolConfig(stripeCount, maxRetainedBytes, capacities);
+        }
+
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core.pool;
+
+/**
+ * The management interface of an {@linkplain ObjectPool object pool}.
+ */
+public interface ObjectPoolMXBean {
+
+    /**
+     * Get the number of acquisitions that returned a pooled object.
+     *
+     * @return the number of hits
+     */
+    long getHits();
+
+    /**
+     * Get the number of acquisitions that created a new object.
+     *
+     * @return the number of misses
+     */
+    long getMisses();
+
+    /**
+     * Get the number of releases that did not retain the object, because
+     * the object was larger than the largest size class or its size class
+     * was full.
+     *
+     * @return the number of discards
+     */
+    long getDiscards();
+
+    /**
+     * Get the number of objects currently retained.
+     *
+     * @return the number of objects currently retained
+     */
+    long getRetainedObjects();
+
+    /**
+     * Get the estimated number of bytes currently retained.
+     *
+     * @return the estimated number of bytes currently retained
+     */
+    long getRetainedBytes();
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+ * A structural index that classifies blocks using the Vector API.
+ */
+final class VectorStructuralIndex extends StructuralIndex {
+
+    private static final VectorSpecies<Byte> SPECIES =
+        ByteVector.SPECIES_PREFERRED.vectorByteSize() > BLOCK_SIZE ?
+        ByteVector.SPECIES_512 : ByteVector.SPECIES_PREFERRED;
+
+    private static final byte HT = 0x09;
+    private static final byte LF = 0x0a;
+    private static final byte CR = 0x0d;
+    private static final byte SP = 0x20;
+
+    VectorStructuralIndex(final int bufferSize) {
+        super(bufferSize);
+    }
+
+    @Override
+    void classify(final byte[] buffer, final int offset) {
+        long quotes = 0;
+        long backslashes = 0;
+        long whitespace = 0;
+
+        for (int i = 0; i < BLOCK_SIZE; i += SPECIES.length()) {
+            ByteVector vector = ByteVector.fromArray(SPECIES, buffer, offset + i);
+
+            VectorMask<Byte> spaces = vector.eq(SP).or(vector.eq(LF))
+                .or(vector.eq(CR)).or(vector.eq(HT));
+
+            quotes |= vector.eq((byte)'"').toLong() << i;
+            backslashes |= vector.eq((byte)'\\').toLong() << i;
+            whitespace |= spaces.toLong() << i;
+        }
+
+        this.quotes = quotes;
+        this.backslashes = backslashes;
+        this.whitespace = whitespace;
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ByteBufferJsonParserTest extends JsonParserTest<ByteBufferJsonParser> {
+
+    @BeforeEach
+    void setUp() {
+        parser = new ByteBufferJsonParser(CONFIG);
+    }
+
+    @Override
+    ByteBufferJsonParser newParser(final JsonParserConfig.Builder builder) {
+        return new ByteBufferJsonParser(builder.build());
+    }
+
+    @Override
+    void reset(final String input) {
+        byte[] bytes = input.getBytes(UTF_8);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+
+        buffer.put(bytes);
+        buffer.flip();
+
+        parser.reset(buffer);
+    }
+
+    @Test
+    void heapBufferWithinBounds() throws Exception {
+        byte[] bytes = "xx[\"foo bar baz\", 1234567890123, true]yy".getBytes(UTF_8);
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, bytes.length - 4).order(ByteOrder.LITTLE_ENDIAN);
+
+        parser = new ByteBufferJsonParser(newConfigBuilder()
+                .setMaxStringCapacity(64)
+                .setZeroCopyText(true)
+                .build());
+
+        parser.reset(buffer);
+
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+        assertEquals("foo bar baz", parser.getText().toString());
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertEquals(1234567890123L, parser.getLongValue());
+        assertEquals("1234567890123", parser.getText().toString());
+        assertEquals(JsonToken.VALUE_TRUE, parser.nextToken());
+        assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+        assertNull(parser.nextToken());
+
+        assertEquals(2, buffer.position());
+        assertEquals(bytes.length - 2, buffer.limit());
+    }
+
+    @Test
+    void heapBufferWithLongText() throws Exception {
+        String text = repeat('a', 40) + "\n" + repeat('b', 40);
+
+        byte[] bytes = "xx[\"aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa\\nbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb\"]yy"
+            .getBytes(UTF_8);
+
+        parser = new ByteBufferJsonParser(newConfigBuilder()
+                .setMaxStringCapacity(128)
+                .build());
+
+        parser.reset(ByteBuffer.wrap(bytes, 2, bytes.length - 4).slice());
+
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+        assertEquals(text, parser.getText().toString());
+        assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+        assertNull(parser.nextToken());
+    }
+
+    @Test
+    void longWhitespaceRuns() throws Exception {
+        String whitespace = " \n\r\t \n\r\t \n\r\t \n\r\t";
+
+        reset(whitespace + "[" + whitespace + "null" + whitespace + "]" + whitespace);
+
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertEquals(JsonToken.VALUE_NULL, parser.nextToken());
+        assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+        assertNull(parser.nextToken());
+    }
+
+}
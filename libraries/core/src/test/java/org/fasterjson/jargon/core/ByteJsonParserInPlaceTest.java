@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+import static java.nio.charset.StandardCharsets.*;
+
+import java.util.Arrays;
+import org.fasterjson.jargon.core.io.ByteArraySource;
+import org.junit.jupiter.api.BeforeEach;
+
+class ByteJsonParserInPlaceTest extends JsonParserTest<ByteJsonParser> {
+
+    private static final int PADDING = 3;
+
+    private ByteArraySource source;
+
+    @BeforeEach
+    void setUp() {
+        source = new ByteArraySource();
+
+        parser = new ByteJsonParser(CONFIG);
+    }
+
+    @Override
+    ByteJsonParser newParser(final JsonParserConfig.Builder builder) {
+        return new ByteJsonParser(builder.build());
+    }
+
+    @Override
+    void reset(final String input) {
+        byte[] bytes = input.getBytes(UTF_8);
+
+        // Surround the input with garbage to verify that the parser stays
+        // within its bounds.
+        byte[] array = new byte[bytes.length + 2 * PADDING];
+
+        Arrays.fill(array, (byte)'x');
+
+        System.arraycopy(bytes, 0, array, PADDING, bytes.length);
+
+        source.reset(array, PADDING, bytes.length);
+        parser.reset(source);
+    }
+
+}
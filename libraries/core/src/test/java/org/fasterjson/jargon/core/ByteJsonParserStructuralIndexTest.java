@@ -0,0 +1,120 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.fasterjson.jargon.core.io.InputStreamSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ByteJsonParserStructuralIndexTest extends JsonParserTest<ByteJsonParser> {
+
+    private static final JsonParserConfig STRUCTURAL_INDEX_CONFIG = newConfigBuilder()
+        .setStructuralIndex(true)
+        .build();
+
+    private static final String VECTOR_API_PROPERTY = "jargon.test.vectorApi";
+
+    private InputStreamSource source;
+
+    @BeforeEach
+    void setUp() {
+        // The java17 profile runs the tests with the Vector API, so the
+        // index must be active there. Elsewhere these tests only duplicate
+        // ByteJsonParserTest and are skipped.
+        boolean active = StructuralIndex.create(STRUCTURAL_INDEX_CONFIG.getBufferSize()) != null;
+
+        if (Boolean.getBoolean(VECTOR_API_PROPERTY))
+            assertTrue(active, "The structural index is not active");
+        else
+            assumeTrue(active, "The Vector API is not available");
+
+        source = new InputStreamSource();
+
+        parser = new ByteJsonParser(STRUCTURAL_INDEX_CONFIG);
+    }
+
+    @Override
+    ByteJsonParser newParser(final JsonParserConfig.Builder builder) {
+        return new ByteJsonParser(builder.setStructuralIndex(true).build());
+    }
+
+    @Override
+    void reset(final String input) {
+        source.reset(new ByteArrayInputStream(input.getBytes(UTF_8)));
+        parser.reset(source);
+    }
+
+    @Test
+    void escapedQuotesAcrossBlocks() throws Exception {
+        StringBuilder input = new StringBuilder();
+
+        input.append("[\n");
+
+        for (int i = 0; i < 40; i++) {
+            input.append("    \"").append(repeat('\\', i % 5 * 2)).append(repeat('a', i))
+                .append("\\\"\\\\\" ,  [ ").append(i).append(" ] ,\n");
+        }
+
+        input.append("    {  \"foo\"  :  \"bar\"  }\n]\n");
+
+        assertEquals(tokens(input.toString(), false), tokens(input.toString(), true));
+    }
+
+    @Test
+    void stringsAcrossBufferBoundaries() throws Exception {
+        StringBuilder input = new StringBuilder();
+
+        input.append('[');
+
+        for (int i = 0; i < 100; i++)
+            input.append(repeat(' ', i % 7)).append("\"").append(repeat('a', i % 13)).append("\" ,");
+
+        input.append(repeat(' ', 70)).append("null ]");
+
+        assertEquals(tokens(input.toString(), false), tokens(input.toString(), true));
+    }
+
+    private static List<String> tokens(final String input, final boolean structuralIndex)
+            throws IOException {
+        ByteJsonParser parser = new ByteJsonParser(JsonParserConfig.newBuilder()
+                .setBufferSize(100)
+                .setStructuralIndex(structuralIndex)
+                .build());
+
+        InputStreamSource source = new InputStreamSource();
+
+        source.reset(new ByteArrayInputStream(input.getBytes(UTF_8)));
+        parser.reset(source);
+
+        List<String> tokens = new ArrayList<>();
+
+        JsonToken token;
+
+        while ((token = parser.nextToken()) != null)
+            tokens.add(token + " " + parser.getText());
+
+        return tokens;
+    }
+
+}
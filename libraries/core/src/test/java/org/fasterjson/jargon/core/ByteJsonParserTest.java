@@ -16,25 +16,205 @@
 package org.fasterjson.jargon.core;
 
 import static java.nio.charset.StandardCharsets.*;
+import static org.junit.jupiter.api.Assertions.*;
 
-import org.fasterjson.jargon.core.io.ByteArraySource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import org.fasterjson.jargon.core.io.InputStreamSource;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 
 class ByteJsonParserTest extends JsonParserTest<ByteJsonParser> {
 
-    private ByteArraySource source;
+    private InputStreamSource source;
 
     @BeforeEach
     void setUp() {
-        source = new ByteArraySource();
+        source = new InputStreamSource();
 
         parser = new ByteJsonParser(CONFIG);
     }
 
+    @Override
+    ByteJsonParser newParser(final JsonParserConfig.Builder builder) {
+        return new ByteJsonParser(builder.build());
+    }
+
     @Override
     void reset(final String input) {
-        source.reset(input.getBytes(UTF_8));
+        source.reset(new ByteArrayInputStream(input.getBytes(UTF_8)));
         parser.reset(source);
     }
 
+    // UTF-8
+
+    @Test
+    void unexpectedContinuationByte() throws Exception {
+        assertParseError("Invalid UTF-8 sequence", () -> parse(0x22, 0x80, 0x22));
+    }
+
+    @Test
+    void overlongTwoByteSequence() throws Exception {
+        assertParseError("Invalid UTF-8 sequence", () -> parse(0x22, 0xc0, 0xaf, 0x22));
+    }
+
+    @Test
+    void overlongThreeByteSequence() throws Exception {
+        assertParseError("Invalid UTF-8 sequence", () -> parse(0x22, 0xe0, 0x80, 0xaf, 0x22));
+    }
+
+    @Test
+    void encodedSurrogate() throws Exception {
+        assertParseError("Invalid UTF-8 sequence", () -> parse(0x22, 0xed, 0xa0, 0x80, 0x22));
+    }
+
+    @Test
+    void tooHighCodePoint() throws Exception {
+        assertParseError("Invalid UTF-8 sequence", () -> parse(0x22, 0xf4, 0x90, 0x80, 0x80, 0x22));
+    }
+
+    @Test
+    void missingContinuationByte() throws Exception {
+        assertParseError("Invalid UTF-8 sequence", () -> parse(0x22, 0xc3, 0x22));
+    }
+
+    @Test
+    void unexpectedEofWithinMultiByteSequence() throws Exception {
+        assertParseError("Unexpected end of input", () -> parse(0x22, 0xe2, 0x82));
+    }
+
+    // Numbers
+
+    @Test
+    void longIntegers() throws Exception {
+        parser = new ByteJsonParser(newConfigBuilder().setBufferSize(64).build());
+
+        String digits = "1234567890123456789";
+
+        for (int count = 1; count <= digits.length(); count++) {
+            String input = digits.substring(0, count);
+
+            reset("[" + input + "," + "-" + input + "]");
+
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+            assertEquals(Long.parseLong(input), parser.getLongValue());
+            assertEquals(input, parser.getText().toString());
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+            assertEquals(-Long.parseLong(input), parser.getLongValue());
+        }
+    }
+
+    @Test
+    void longFloats() throws Exception {
+        parser = new ByteJsonParser(newConfigBuilder().setBufferSize(64).build());
+
+        String digits = "12345678901234567890123";
+
+        for (int count = 1; count < digits.length(); count++) {
+            String input = digits.substring(0, count) + "." + digits.substring(count) + "e-3";
+
+            reset("[" + input + "]");
+
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+            assertEquals(JsonToken.VALUE_NUMBER_FLOAT, parser.nextToken());
+            assertEquals(Double.parseDouble(input), parser.getDoubleValue());
+            assertEquals(input, parser.getText().toString());
+        }
+    }
+
+    @Test
+    void nonDigitWithinLongInteger() throws Exception {
+        parser = new ByteJsonParser(newConfigBuilder().setBufferSize(64).build());
+
+        assertParseError("Expected ',' but got 'a'", () -> parse(0x5b, 0x31, 0x32, 0x33, 0x34, 0x35,
+                    0x36, 0x37, 0x61, 0x39, 0x5d));
+    }
+
+    @Test
+    void tooHighMagnitudeLongInteger() throws Exception {
+        parser = new ByteJsonParser(newConfigBuilder().setBufferSize(64).build());
+
+        reset("[12345678901234567890]");
+
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertParseError("Too high magnitude in numeric value", () -> parser.nextToken());
+    }
+
+    // Strings
+
+    @Test
+    void longStrings() throws Exception {
+        for (boolean zeroCopyText : new boolean[] { false, true }) {
+            parser = new ByteJsonParser(newConfigBuilder()
+                    .setBufferSize(64)
+                    .setMaxStringCapacity(64)
+                    .setZeroCopyText(zeroCopyText)
+                    .build());
+
+            for (int count = 0; count < 20; count++) {
+                String prefix = repeat('a', count);
+
+                assertString(prefix, "\"" + prefix + "\"");
+                assertString(prefix + "\"b", "\"" + prefix + "\\\"b\"");
+                assertString(prefix + "\u00e9b", "\"" + prefix + "\u00e9b\"");
+                assertParseError("Unexpected control character", () ->
+                        parseString("\"" + prefix + "\u0001\""));
+            }
+        }
+    }
+
+    // Whitespace
+
+    @Test
+    void longWhitespaceRuns() throws Exception {
+        parser = new ByteJsonParser(newConfigBuilder().setBufferSize(64).build());
+
+        for (int count = 0; count < 20; count++) {
+            StringBuilder whitespace = new StringBuilder();
+
+            for (int i = 0; i < count; i++)
+                whitespace.append(" \n\r\t".charAt(i % 4));
+
+            reset(whitespace + "[" + whitespace + "null" + whitespace + "]" + whitespace);
+
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+            assertEquals(JsonToken.VALUE_NULL, parser.nextToken());
+            assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+            assertNull(parser.nextToken());
+        }
+    }
+
+    @Test
+    void controlCharacterWithinLongWhitespaceRun() throws Exception {
+        parser = new ByteJsonParser(newConfigBuilder().setBufferSize(64).build());
+
+        assertParseError("Unexpected '\u000b'", () -> parse(0x5b, 0x20, 0x20, 0x20, 0x20,
+                    0x20, 0x20, 0x20, 0x20, 0x20, 0x20, 0x0b, 0x5d));
+    }
+
+    private void assertString(final String expected, final String input) throws IOException {
+        assertEquals(expected, parseString(input));
+    }
+
+    private String parseString(final String input) throws IOException {
+        reset(input);
+
+        assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+
+        return parser.getText().toString();
+    }
+
+    private void parse(final int... bytes) throws IOException {
+        byte[] input = new byte[bytes.length];
+
+        for (int i = 0; i < bytes.length; i++)
+            input[i] = (byte)bytes[i];
+
+        source.reset(new ByteArrayInputStream(input));
+        parser.reset(source);
+
+        while (parser.nextToken() != null);
+    }
+
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+import java.util.Arrays;
+import org.fasterjson.jargon.core.io.CharArraySource;
+import org.junit.jupiter.api.BeforeEach;
+
+class CharJsonParserInPlaceTest extends JsonParserTest<CharJsonParser> {
+
+    private static final int PADDING = 3;
+
+    private CharArraySource source;
+
+    @BeforeEach
+    void setUp() {
+        source = new CharArraySource();
+
+        parser = new CharJsonParser(CONFIG);
+    }
+
+    @Override
+    CharJsonParser newParser(final JsonParserConfig.Builder builder) {
+        return new CharJsonParser(builder.build());
+    }
+
+    @Override
+    void reset(final String input) {
+        char[] chars = input.toCharArray();
+
+        // Surround the input with garbage to verify that the parser stays
+        // within its bounds.
+        char[] array = new char[chars.length + 2 * PADDING];
+
+        Arrays.fill(array, (char)'x');
+
+        System.arraycopy(chars, 0, array, PADDING, chars.length);
+
+        source.reset(array, PADDING, chars.length);
+        parser.reset(source);
+    }
+
+}
@@ -29,6 +29,11 @@ class CharJsonParserTest extends JsonParserTest<CharJsonParser> {
         parser = new CharJsonParser(CONFIG);
     }
 
+    @Override
+    CharJsonParser newParser(final JsonParserConfig.Builder builder) {
+        return new CharJsonParser(builder.build());
+    }
+
     @Override
     void reset(final String input) {
         source.reset(input);
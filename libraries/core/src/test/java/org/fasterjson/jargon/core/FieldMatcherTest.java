@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+class FieldMatcherTest {
+
+    private static final FieldMatcher MATCHER = FieldMatcher.of("id", "ip", "name", "été", "");
+
+    @Test
+    void names() {
+        assertEquals(5, MATCHER.size());
+        assertEquals("id", MATCHER.getName(0));
+        assertEquals("", MATCHER.getName(4));
+    }
+
+    @Test
+    void duplicateName() {
+        assertThrows(IllegalArgumentException.class, () -> FieldMatcher.of("a", "b", "a"));
+    }
+
+    @Test
+    void matchCharSequence() {
+        assertEquals(0, MATCHER.match("id"));
+        assertEquals(1, MATCHER.match(new StringBuilder("ip")));
+        assertEquals(2, MATCHER.match("name"));
+        assertEquals(3, MATCHER.match("été"));
+        assertEquals(4, MATCHER.match(""));
+        assertEquals(-1, MATCHER.match("iq"));
+        assertEquals(-1, MATCHER.match("nome"));
+        assertEquals(-1, MATCHER.match("names"));
+    }
+
+    @Test
+    void matchBytes() {
+        byte[] buffer = "xidipnameéténam".getBytes(UTF_8);
+
+        assertEquals(0, MATCHER.match(buffer, 1, 2));
+        assertEquals(1, MATCHER.match(buffer, 3, 2));
+        assertEquals(2, MATCHER.match(buffer, 5, 4));
+        assertEquals(3, MATCHER.match(buffer, 9, 5));
+        assertEquals(4, MATCHER.match(buffer, 0, 0));
+        assertEquals(-1, MATCHER.match(buffer, 2, 2));
+        assertEquals(-1, MATCHER.match(buffer, 14, 3));
+        assertEquals(-1, MATCHER.match(buffer, 0, 17));
+    }
+
+    @Test
+    void matchByteBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap("xidipnameété".getBytes(UTF_8));
+
+        assertEquals(0, MATCHER.match(buffer, 1, 2));
+        assertEquals(2, MATCHER.match(buffer, 5, 4));
+        assertEquals(3, MATCHER.match(buffer, 9, 5));
+        assertEquals(-1, MATCHER.match(buffer, 2, 2));
+    }
+
+    @Test
+    void matchChars() {
+        char[] buffer = "xidipnameété".toCharArray();
+
+        assertEquals(0, MATCHER.match(buffer, 1, 2));
+        assertEquals(1, MATCHER.match(buffer, 3, 2));
+        assertEquals(2, MATCHER.match(buffer, 5, 4));
+        assertEquals(3, MATCHER.match(buffer, 9, 3));
+        assertEquals(-1, MATCHER.match(buffer, 2, 2));
+    }
+
+}
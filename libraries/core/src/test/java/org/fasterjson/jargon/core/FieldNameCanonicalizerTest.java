@@ -0,0 +1,262 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.fasterjson.jargon.core.io.CharSequenceSource;
+import org.junit.jupiter.api.Test;
+
+class FieldNameCanonicalizerTest {
+
+    @Test
+    void add() {
+        FieldNameCanonicalizer canonicalizer = new FieldNameCanonicalizer();
+
+        assertEquals(0, canonicalizer.add("foo"));
+        assertEquals(1, canonicalizer.add(new StringBuilder("bar")));
+        assertEquals(0, canonicalizer.add(new StringBuilder("foo")));
+
+        assertEquals(2, canonicalizer.size());
+
+        SymbolTable table = canonicalizer.getSymbolTable();
+
+        assertEquals("foo", table.symbol(0));
+        assertEquals("bar", table.symbol(1));
+    }
+
+    @Test
+    void snapshots() {
+        FieldNameCanonicalizer canonicalizer = new FieldNameCanonicalizer();
+
+        canonicalizer.add("foo");
+
+        SymbolTable snapshot = canonicalizer.getSymbolTable();
+
+        canonicalizer.add("bar");
+
+        assertEquals(0, snapshot.find("foo"));
+        assertEquals(-1, snapshot.find("bar"));
+        assertEquals(1, snapshot.size());
+
+        assertEquals(1, canonicalizer.getSymbolTable().find("bar"));
+    }
+
+    @Test
+    void maxSymbolCount() {
+        FieldNameCanonicalizer canonicalizer = new FieldNameCanonicalizer(100);
+
+        for (int i = 0; i < 100; i++)
+            assertEquals(i, canonicalizer.add("f" + i));
+
+        assertEquals(-1, canonicalizer.add("f100"));
+        assertEquals(99, canonicalizer.add("f99"));
+
+        assertEquals(100, canonicalizer.size());
+    }
+
+    @Test
+    void fullTableIsNotCopied() {
+        FieldNameCanonicalizer canonicalizer = new FieldNameCanonicalizer(2);
+
+        canonicalizer.add("a");
+        canonicalizer.add("b");
+
+        SymbolTable table = canonicalizer.getSymbolTable();
+
+        for (int i = 0; i < 1000; i++)
+            assertEquals(-1, canonicalizer.add("f" + i));
+
+        assertSame(table, canonicalizer.getSymbolTable());
+    }
+
+    @Test
+    void fullTableIsNotCopiedByParser() throws Exception {
+        FieldNameCanonicalizer canonicalizer = new FieldNameCanonicalizer(1);
+
+        CharJsonParser parser = new CharJsonParser(JsonParserConfig.newBuilder()
+                .setFieldNameCanonicalizer(canonicalizer)
+                .build());
+
+        StringBuilder document = new StringBuilder("{\"a\":0");
+
+        for (int i = 0; i < 1000; i++)
+            document.append(",\"f").append(i).append("\":0");
+
+        document.append('}');
+
+        CharSequenceSource source = new CharSequenceSource();
+
+        source.reset("{\"a\":0}");
+        parser.reset(source);
+
+        while (parser.nextToken() != null);
+
+        SymbolTable table = canonicalizer.getSymbolTable();
+
+        source.reset(document);
+        parser.reset(source);
+
+        while (parser.nextToken() != null);
+
+        assertSame(table, canonicalizer.getSymbolTable());
+        assertEquals(1, canonicalizer.size());
+    }
+
+    @Test
+    void resetWhenFull() {
+        FieldNameCanonicalizer canonicalizer = new FieldNameCanonicalizer(2, true);
+
+        assertEquals(0, canonicalizer.add("a"));
+        assertEquals(1, canonicalizer.add("b"));
+        assertEquals(1, canonicalizer.add("b"));
+
+        assertEquals(2, canonicalizer.size());
+
+        // A full table is replaced when a field name is added.
+        assertEquals(0, canonicalizer.add("c"));
+
+        assertEquals(1, canonicalizer.size());
+        assertEquals(-1, canonicalizer.getSymbolTable().find("a"));
+
+        assertEquals(1, canonicalizer.add("a"));
+        assertEquals(0, canonicalizer.add("d"));
+
+        assertEquals(1, canonicalizer.size());
+    }
+
+    @Test
+    void resetWhenFullByParser() throws Exception {
+        FieldNameCanonicalizer canonicalizer = new FieldNameCanonicalizer(2, true);
+
+        CharJsonParser parser = new CharJsonParser(JsonParserConfig.newBuilder()
+                .setFieldNameCanonicalizer(canonicalizer)
+                .build());
+
+        CharSequenceSource source = new CharSequenceSource();
+
+        source.reset("{\"a\":0,\"b\":0,\"c\":0,\"d\":0}");
+        parser.reset(source);
+
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+
+        for (String name : new String[] { "a", "b", "c", "d" }) {
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals(name, parser.currentName());
+            assertNotEquals(-1, parser.currentNameId());
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        }
+
+        assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+
+        SymbolTable table = canonicalizer.getSymbolTable();
+
+        assertEquals(2, table.size());
+        assertEquals(0, table.find("c"));
+        assertEquals(1, table.find("d"));
+    }
+
+    @Test
+    void nonPositiveMaxSymbolCount() {
+        assertThrows(IllegalArgumentException.class, () -> new FieldNameCanonicalizer(0, true));
+    }
+
+    @Test
+    void collidingFieldNames() {
+        FieldNameCanonicalizer canonicalizer = new FieldNameCanonicalizer();
+
+        // "Aa" and "BB" have the same hash, and so do all combinations.
+        List<String> names = new ArrayList<>();
+
+        for (int i = 0; i < 64; i++) {
+            StringBuilder name = new StringBuilder();
+
+            for (int bit = 0; bit < 6; bit++)
+                name.append((i & (1 << bit)) != 0 ? "BB" : "Aa");
+
+            names.add(name.toString());
+        }
+
+        int added = 0;
+
+        for (String name : names) {
+            if (canonicalizer.add(name) != -1)
+                added++;
+        }
+
+        assertTrue(added < names.size());
+        assertEquals(added, canonicalizer.size());
+
+        for (int i = 0; i < added; i++)
+            assertEquals(i, canonicalizer.add(names.get(i)));
+
+        SymbolTable table = canonicalizer.getSymbolTable();
+
+        assertEquals(-1, canonicalizer.add(names.get(names.size() - 1)));
+
+        assertSame(table, canonicalizer.getSymbolTable());
+    }
+
+    @Test
+    void concurrentAdds() throws Exception {
+        FieldNameCanonicalizer canonicalizer = new FieldNameCanonicalizer();
+
+        int threads = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<int[]>> futures = new ArrayList<>();
+
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+
+                futures.add(executor.submit(() -> {
+                    int[] ids = new int[1000];
+
+                    for (int i = 0; i < ids.length; i++) {
+                        int name = (i + 100 * offset) % ids.length;
+
+                        ids[name] = canonicalizer.add("f" + name);
+                    }
+
+                    return ids;
+                }));
+            }
+
+            int[] expected = futures.get(0).get();
+
+            for (Future<int[]> future : futures)
+                assertArrayEquals(expected, future.get());
+
+            assertEquals(1000, canonicalizer.size());
+
+            SymbolTable table = canonicalizer.getSymbolTable();
+
+            for (int i = 0; i < expected.length; i++)
+                assertEquals("f" + i, table.symbol(expected[i]));
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+}
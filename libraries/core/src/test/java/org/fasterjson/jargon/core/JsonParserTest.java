@@ -19,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
@@ -27,18 +28,12 @@ abstract class JsonParserTest<P extends JsonParser> {
 
     private static final double EPSILON = 1e-23;
 
-    static final JsonParserConfig CONFIG = JsonParserConfig.newBuilder()
-        .setBufferSize(8)
-        .setMinNestingCapacity(2)
-        .setMaxNestingCapacity(4)
-        .setMinFieldNameCapacity(4)
-        .setMaxFieldNameCapacity(8)
-        .setMinStringCapacity(8)
-        .setMaxStringCapacity(16)
-        .build();
+    static final JsonParserConfig CONFIG = newConfigBuilder().build();
 
     P parser;
 
+    abstract P newParser(JsonParserConfig.Builder builder);
+
     abstract void reset(String input) throws IOException;
 
     // JsonToken.VALUE_NULL
@@ -121,8 +116,8 @@ abstract class JsonParserTest<P extends JsonParser> {
 
     @Test
     void valueNumberIntMaxValue() throws Exception {
-        assertValueEquals(9007199254740991L, "9007199254740991",
-                parse("9007199254740991", 1));
+        assertValueEquals(9223372036854775807L, "9223372036854775807",
+                parse("9223372036854775807", 1));
     }
 
     @Test
@@ -137,18 +132,23 @@ abstract class JsonParserTest<P extends JsonParser> {
 
     @Test
     void valueNumberIntMinValue() throws Exception {
-        assertValueEquals(-9007199254740991L, "-9007199254740991",
-                parse("-9007199254740991", 1));
+        assertValueEquals(-9223372036854775808L, "-9223372036854775808",
+                parse("-9223372036854775808", 1));
     }
 
     @Test
     void tooLargeValueNumberInt() throws Exception {
-        assertParseError("Too high precision in numeric value", () -> parse("9007199254740992", 1));
+        assertParseError("Too high magnitude in numeric value", () -> parse("9223372036854775808", 1));
+    }
+
+    @Test
+    void tooLargeValueNumberIntWithTwentyDigits() throws Exception {
+        assertParseError("Too high magnitude in numeric value", () -> parse("10000000000000000000", 1));
     }
 
     @Test
     void tooSmallValueNumberInt() throws Exception {
-        assertParseError("Too high precision in numeric value", () -> parse("-9007199254740992", 1));
+        assertParseError("Too high magnitude in numeric value", () -> parse("-9223372036854775809", 1));
     }
 
     @Test
@@ -220,39 +220,120 @@ abstract class JsonParserTest<P extends JsonParser> {
     }
 
     @Test
-    void tooLowMagnitudeInValueNumberFloat() throws Exception {
-        assertParseError("Too high precision in numeric value",
-                () -> parse("0.0000000000000001", 1));
+    void valueNumberFloatWithSeventeenDigits() throws Exception {
+        assertValueEquals(0.30000000000000004, "0.30000000000000004",
+                parse("0.30000000000000004", 1));
+    }
+
+    @Test
+    void valueNumberFloatWithLongMantissa() throws Exception {
+        assertValueEquals(3.141592653589793, "3.14159265358979323846264338327950288",
+                parse("3.14159265358979323846264338327950288", 1));
+    }
+
+    @Test
+    void valueNumberFloatWithLongIntegerPart() throws Exception {
+        assertValueEquals(1.0000000000000001e37, "10000000000000001000000000000000000000.0",
+                parse("10000000000000001000000000000000000000.0", 1));
+    }
+
+    @Test
+    void valueNumberFloatWithLeadingZerosInFraction() throws Exception {
+        assertValueEquals(1e-16, "0.0000000000000001", parse("0.0000000000000001", 1));
+    }
+
+    @Test
+    void valueNumberFloatHalfwayRoundsToEven() throws Exception {
+        assertValueEquals(9007199254740992.0, "9007199254740993.0",
+                parse("9007199254740993.0", 1));
+    }
+
+    @Test
+    void valueNumberFloatJustAboveHalfway() throws Exception {
+        assertValueEquals(1.0000000000000002,
+                "1.000000000000000111022302462515654042363166809082031251",
+                parse("1.000000000000000111022302462515654042363166809082031251", 1));
+    }
+
+    @Test
+    void valueNumberFloatTextTwice() throws Exception {
+        JsonParser parser = parse("[1.25]", 2);
+
+        assertEquals("1.25", parser.getText().toString());
+        assertEquals("1.25", parser.getText().toString());
     }
 
     @Test
-    void tooLowMagnitudeInNegativeValueNumberFloat() throws Exception {
-        assertParseError("Too high precision in numeric value",
-                () -> parse("-0.0000000000000001", 1));
+    void valueNumberFloatWithExponent() throws Exception {
+        assertValueEquals(1e10, "1e10", parse("1e10", 1));
     }
 
     @Test
-    void tooHighPrecisionInValueNumberFloat() throws Exception {
-        assertParseError("Too high precision in numeric value",
-                () -> parse("10000000000000001000000000000000000000.0", 1));
+    void valueNumberFloatWithUpperCaseExponent() throws Exception {
+        assertValueEquals(100.0, "1E2", parse("1E2", 1));
     }
 
     @Test
-    void tooHighPrecisionInNegativeValueNumberFloat() throws Exception {
-        assertParseError("Too high precision in numeric value",
-                () -> parse("-10000000000000001000000000000000000000.0", 1));
+    void valueNumberFloatWithPositiveExponent() throws Exception {
+        assertValueEquals(1.5e300, "1.5e+300", parse("1.5e+300", 1));
     }
 
     @Test
-    void tooHighMagnitudeInValueNumberFloat() throws Exception {
-        assertParseError("Too high magnitude in numeric value",
-                () -> parse("100000000000000000000000000000000000000.0"));
+    void valueNumberFloatWithNegativeExponent() throws Exception {
+        assertValueEquals(-2.5e-300, "-2.5e-300", parse("-2.5e-300", 1));
     }
 
     @Test
-    void tooHighMagnitudeInNegativeValueNumberFloat() throws Exception {
-        assertParseError("Too high magnitude in numeric value",
-                () -> parse("-100000000000000000000000000000000000000.0"));
+    void valueNumberFloatMaxDouble() throws Exception {
+        assertValueEquals(Double.MAX_VALUE, "1.7976931348623157e308",
+                parse("1.7976931348623157e308", 1));
+    }
+
+    @Test
+    void valueNumberFloatMinNormal() throws Exception {
+        assertValueEquals(Double.MIN_NORMAL, "2.2250738585072014e-308",
+                parse("2.2250738585072014e-308", 1));
+    }
+
+    @Test
+    void valueNumberFloatSubnormal() throws Exception {
+        assertValueEquals(Double.MIN_VALUE, "4.9e-324", parse("4.9e-324", 1));
+    }
+
+    @Test
+    void valueNumberFloatOverflow() throws Exception {
+        assertValueEquals(Double.POSITIVE_INFINITY, "1e309", parse("1e309", 1));
+    }
+
+    @Test
+    void valueNumberFloatUnderflow() throws Exception {
+        assertValueEquals(0.0, "1e-400", parse("1e-400", 1));
+    }
+
+    @Test
+    void valueNumberFloatWithHugeExponent() throws Exception {
+        assertValueEquals(Double.POSITIVE_INFINITY, "1e99999999999",
+                parse("1e99999999999", 1));
+    }
+
+    @Test
+    void tooLongValueNumberFloat() throws Exception {
+        assertParseError("Too long numeric value", () -> parse(repeat('1', 1001) + ".0", 1));
+    }
+
+    @Test
+    void unexpectedEofWithinExponent() throws Exception {
+        assertParseError("Unexpected end of input", () -> parse("1e"));
+    }
+
+    @Test
+    void unexpectedEofAfterExponentSign() throws Exception {
+        assertParseError("Unexpected end of input", () -> parse("1e-"));
+    }
+
+    @Test
+    void unexpectedAsciiCharWithinExponent() throws Exception {
+        assertParseError("Unexpected 'x'", () -> parse("1ex"));
     }
 
     @Test
@@ -298,6 +379,104 @@ abstract class JsonParserTest<P extends JsonParser> {
         assertParseError("Unexpected end of input", () -> parse("\"fo"));
     }
 
+    @Test
+    void valueStringWithEscapedChars() throws Exception {
+        assertTextEquals("\"\\/\b\f\n\r\t", JsonToken.VALUE_STRING,
+                parse("\"\\\"\\\\\\/\\b\\f\\n\\r\\t\"", 1));
+    }
+
+    @Test
+    void valueStringWithUnicodeEscape() throws Exception {
+        assertTextEquals("fo\u00f6", JsonToken.VALUE_STRING, parse("\"fo\\u00F6\"", 1));
+    }
+
+    @Test
+    void valueStringWithSurrogatePairEscape() throws Exception {
+        assertTextEquals("\ud83d\ude00", JsonToken.VALUE_STRING, parse("\"\\ud83d\\ude00\"", 1));
+    }
+
+    @Test
+    void valueStringWithEscapedCharsAcrossBuffers() throws Exception {
+        assertTextEquals("foo\"bar\"baz\"", JsonToken.VALUE_STRING,
+                parse("\"foo\\\"bar\\\"baz\\\"\"", 1));
+    }
+
+    @Test
+    void longValueStringWithEscapedChars() throws Exception {
+        parser = newParser(newConfigBuilder().setMaxStringCapacity(256));
+
+        String run = repeat('a', 40) + repeat('b', 40);
+
+        reset("\"" + run + "\\n" + run + "\\t" + run + "\"");
+
+        assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+        assertEquals(run + "\n" + run + "\t" + run, parser.getText().toString());
+    }
+
+    @Test
+    void tooLongValueStringWithEscapedChars() throws Exception {
+        assertParseError("Too long string value",
+                () -> parse("\"\\n\\n\\n\\n\\n\\n\\n\\n\\n\\n\\n\\n\\n\\n\\n\\n\\n\"", 1));
+    }
+
+    @Test
+    void invalidEscapeWithinValueString() throws Exception {
+        assertParseError("Invalid escape sequence", () -> parse("\"\\x\"", 1));
+    }
+
+    @Test
+    void invalidUnicodeEscapeWithinValueString() throws Exception {
+        assertParseError("Invalid escape sequence", () -> parse("\"\\u00g0\"", 1));
+    }
+
+    @Test
+    void loneHighSurrogateEscapeWithinValueString() throws Exception {
+        assertParseError("Invalid surrogate pair", () -> parse("\"\\ud83dx\"", 1));
+    }
+
+    @Test
+    void loneLowSurrogateEscapeWithinValueString() throws Exception {
+        assertParseError("Invalid surrogate pair", () -> parse("\"\\ude00\"", 1));
+    }
+
+    @Test
+    void unexpectedEofWithinEscapeWithinValueString() throws Exception {
+        assertParseError("Unexpected end of input", () -> parse("\"\\u00"));
+    }
+
+    @Test
+    void unexpectedControlCharWithinValueString() throws Exception {
+        assertParseError("Unexpected control character", () -> parse("\"foo\nbar\"", 1));
+    }
+
+    @Test
+    void valueStringWithTwoByteChar() throws Exception {
+        assertTextEquals("f\u00f6o", JsonToken.VALUE_STRING, parse("\"f\u00f6o\"", 1));
+    }
+
+    @Test
+    void valueStringWithThreeByteChar() throws Exception {
+        assertTextEquals("\u20ac10", JsonToken.VALUE_STRING, parse("\"\u20ac10\"", 1));
+    }
+
+    @Test
+    void valueStringWithFourByteChar() throws Exception {
+        assertTextEquals("\ud83d\ude00", JsonToken.VALUE_STRING, parse("\"\ud83d\ude00\"", 1));
+    }
+
+    @Test
+    void valueStringMaxLengthWithNonAsciiChars() throws Exception {
+        assertTextEquals("\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4",
+                JsonToken.VALUE_STRING,
+                parse("\"\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\u00e4\"", 1));
+    }
+
+    @Test
+    void tooLongValueStringWithNonAsciiChars() throws Exception {
+        assertParseError("Too long string value",
+                () -> parse("\"aaaaaaaaaaaaaaa\ud83d\ude00\"", 1));
+    }
+
     // JsonToken.FIELD_NAME
 
     @Test
@@ -315,6 +494,16 @@ abstract class JsonParserTest<P extends JsonParser> {
         assertTextEquals("aaaaaaaa", JsonToken.FIELD_NAME, parse("{\"aaaaaaaa\":", 2));
     }
 
+    @Test
+    void fieldNameWithNonAsciiChars() throws Exception {
+        assertTextEquals("gr\u00f6\u00dfe", JsonToken.FIELD_NAME, parse("{\"gr\u00f6\u00dfe\":", 2));
+    }
+
+    @Test
+    void fieldNameWithEscapedChars() throws Exception {
+        assertTextEquals("a\"b", JsonToken.FIELD_NAME, parse("{\"a\\\"b\":", 2));
+    }
+
     @Test
     void tooLongFieldName() throws Exception {
         assertParseError("Too long field name", () -> parse("{\"aaaaaaaaa\":null}"));
@@ -400,6 +589,11 @@ abstract class JsonParserTest<P extends JsonParser> {
         assertEquals("[ { } ]", parse("[{}]"));
     }
 
+    @Test
+    void arrayWithValueNumbersAcrossBuffers() throws Exception {
+        assertEquals("[ 12345 -6 -7654321.5e-3 ]", parse("[12345,-6,-7654321.5e-3]"));
+    }
+
     @Test
     void unexpectedEofWithinArray() throws Exception {
         assertParseError("Unexpected end of input", () -> parse("["));
@@ -597,6 +791,11 @@ abstract class JsonParserTest<P extends JsonParser> {
         assertTrue("bar".contentEquals(parse("{\"foo\":false,\"bar\":true", 5).currentName()));
     }
 
+    @Test
+    void currentNameForLongValueWithinObject() throws Exception {
+        assertTrue("foo".contentEquals(parse("{\"foo\":\"aaaaaaaaaaaaaaaa\"", 3).currentName()));
+    }
+
     @Test
     void currentNameForEndObjectWithinObject() throws Exception {
         assertNull(parse("{\"foo\":false,\"bar\":true}", 6).currentName());
@@ -607,6 +806,530 @@ abstract class JsonParserTest<P extends JsonParser> {
         assertNull(parse("[null", 2).currentName());
     }
 
+    // Symbol table
+
+    @Test
+    void currentNameIdWithinArray() throws Exception {
+        assertEquals(-1, parse("[null", 2).currentNameId());
+    }
+
+    @Test
+    void currentNameIdForEndObjectWithinObject() throws Exception {
+        assertEquals(-1, parse("{\"foo\":false}", 4).currentNameId());
+    }
+
+    @Test
+    void currentNameIdWithSymbolTable() throws Exception {
+        parser = newParser(newConfigBuilder().setSymbolTable(true));
+
+        String input = "{\"foo\":1,\"bar\":{\"foo\":[2]},\"a\\nb\":3,\"\u00e9\":4,\"bar\":5}";
+
+        for (int i = 0; i < 2; i++) {
+            reset(input);
+
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            assertEquals(-1, parser.currentNameId());
+
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals(0, parser.currentNameId());
+            assertEquals("foo", parser.currentName());
+
+            String foo = parser.currentName().toString();
+
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+            assertEquals(0, parser.currentNameId());
+            assertSame(foo, parser.currentName());
+
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals(1, parser.currentNameId());
+            assertEquals("bar", parser.currentName());
+
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            assertEquals(1, parser.currentNameId());
+
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals(0, parser.currentNameId());
+            assertSame(foo, parser.currentName());
+
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+            assertEquals(-1, parser.currentNameId());
+
+            assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+            assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+            assertEquals(-1, parser.currentNameId());
+
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals(2, parser.currentNameId());
+            assertEquals("a\nb", parser.currentName());
+
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals(3, parser.currentNameId());
+            assertEquals("\u00e9", parser.currentName());
+
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals(1, parser.currentNameId());
+            assertEquals("bar", parser.currentName());
+
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+            assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+            assertNull(parser.nextToken());
+        }
+    }
+
+    @Test
+    void escapedFieldNameWithSymbolTable() throws Exception {
+        parser = newParser(newConfigBuilder().setSymbolTable(true));
+
+        // The hash computed while scanning a field name matches the hash of
+        // the same field name parsed with escape sequences.
+        reset("{\"foo\":1,\"f\\u006fo\":2,\"b\\u0061r\":3,\"bar\":4}");
+
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+
+        for (int id : new int[] { 0, 0, 1, 1 }) {
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals(id, parser.currentNameId());
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        }
+    }
+
+    @Test
+    void tooManySymbols() throws Exception {
+        parser = newParser(newConfigBuilder().setSymbolTable(true));
+
+        for (int i = 0; i <= FieldNameCanonicalizer.DEFAULT_MAX_SYMBOL_COUNT; i++) {
+            String name = Integer.toString(i, 36);
+
+            reset("{\"" + name + "\":0}");
+
+            parser.nextToken();
+            parser.nextToken();
+
+            assertEquals(i < FieldNameCanonicalizer.DEFAULT_MAX_SYMBOL_COUNT ? i : -1, parser.currentNameId());
+            assertTrue(name.contentEquals(parser.currentName()));
+        }
+    }
+
+    @Test
+    void fieldNameCanonicalizer() throws Exception {
+        FieldNameCanonicalizer canonicalizer = new FieldNameCanonicalizer(2);
+
+        P firstParser = newParser(newConfigBuilder().setFieldNameCanonicalizer(canonicalizer));
+        P secondParser = newParser(newConfigBuilder().setFieldNameCanonicalizer(canonicalizer));
+
+        parser = firstParser;
+
+        reset("{\"foo\":1}");
+
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals(0, parser.currentNameId());
+
+        String foo = parser.currentName().toString();
+
+        parser = secondParser;
+
+        reset("{\"bar\":1,\"foo\":2,\"baz\":3}");
+
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals(1, parser.currentNameId());
+        assertEquals("bar", parser.currentName());
+
+        String bar = parser.currentName().toString();
+
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals(0, parser.currentNameId());
+        assertSame(foo, parser.currentName());
+
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals(-1, parser.currentNameId());
+        assertTrue("baz".contentEquals(parser.currentName()));
+
+        parser = firstParser;
+
+        reset("{\"bar\":1}");
+
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals(1, parser.currentNameId());
+        assertSame(bar, parser.currentName());
+
+        assertEquals(2, canonicalizer.size());
+    }
+
+    // Field matcher
+
+    @Test
+    void nextFieldName() throws Exception {
+        FieldMatcher matcher = FieldMatcher.of("id", "name", "\u00e9", "");
+
+        reset("{\"id\":1,\"other\":2,\"n\\u0061me\":3,\"\u00e9\":4,\"\":5,\"i\":6}");
+
+        assertEquals(-1, parser.nextFieldName(matcher));
+        assertEquals(JsonToken.START_OBJECT, parser.currentToken());
+
+        assertEquals(0, parser.nextFieldName(matcher));
+        assertEquals(JsonToken.FIELD_NAME, parser.currentToken());
+        assertEquals("id", parser.currentName().toString());
+        assertEquals("id", parser.getText().toString());
+
+        assertEquals(-1, parser.nextFieldName(matcher));
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.currentToken());
+        assertEquals("id", parser.currentName().toString());
+
+        assertEquals(-1, parser.nextFieldName(matcher));
+        assertEquals(JsonToken.FIELD_NAME, parser.currentToken());
+        assertEquals("other", parser.currentName().toString());
+
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+
+        assertEquals(1, parser.nextFieldName(matcher));
+        assertEquals("name", parser.currentName().toString());
+
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+
+        assertEquals(2, parser.nextFieldName(matcher));
+        assertEquals("\u00e9", parser.currentName().toString());
+
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+
+        assertEquals(3, parser.nextFieldName(matcher));
+        assertEquals("", parser.currentName().toString());
+
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+
+        assertEquals(-1, parser.nextFieldName(matcher));
+        assertEquals(JsonToken.FIELD_NAME, parser.currentToken());
+        assertEquals("i", parser.currentName().toString());
+
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertEquals(6, parser.getLongValue());
+
+        assertEquals(-1, parser.nextFieldName(matcher));
+        assertEquals(JsonToken.END_OBJECT, parser.currentToken());
+
+        assertEquals(-1, parser.nextFieldName(matcher));
+        assertNull(parser.currentToken());
+    }
+
+    @Test
+    void nextFieldNameWithinArray() throws Exception {
+        FieldMatcher matcher = FieldMatcher.of("a");
+
+        reset("[\"a\"]");
+
+        assertEquals(-1, parser.nextFieldName(matcher));
+        assertEquals(-1, parser.nextFieldName(matcher));
+        assertEquals(JsonToken.VALUE_STRING, parser.currentToken());
+    }
+
+    @Test
+    void nextFieldNameWithSymbolTable() throws Exception {
+        parser = newParser(newConfigBuilder().setSymbolTable(true));
+
+        FieldMatcher matcher = FieldMatcher.of("b");
+
+        reset("{\"a\":1,\"b\":2}");
+
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+
+        assertEquals(0, parser.nextFieldName(matcher));
+        assertEquals(1, parser.currentNameId());
+        assertEquals("b", parser.currentName().toString());
+    }
+
+    @Test
+    void nextFieldNameWithControlChar() throws Exception {
+        FieldMatcher matcher = FieldMatcher.of("\u0001");
+
+        reset("{\"\u0001\":1}");
+
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+
+        assertParseError("Unexpected control character", () -> parser.nextFieldName(matcher));
+    }
+
+    @Test
+    void nextFieldNameTooLong() throws Exception {
+        FieldMatcher matcher = FieldMatcher.of("aaaaaaaaa");
+
+        reset("{\"aaaaaaaaa\":1}");
+
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+
+        assertParseError("Too long field name", () -> parser.nextFieldName(matcher));
+    }
+
+    // Skip children
+
+    @Test
+    void skipChildrenOfObject() throws Exception {
+        JsonParser parser = parse("{\"a\":{\"b\":[1,\"}\\\"]\",{\"c\":null}]},\"d\":true}", 3);
+
+        parser.skipChildren();
+
+        assertEquals(JsonToken.END_OBJECT, parser.currentToken());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals("d", parser.getText().toString());
+        assertEquals(JsonToken.VALUE_TRUE, parser.nextToken());
+        assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+        assertNull(parser.nextToken());
+    }
+
+    @Test
+    void skipChildrenOfArray() throws Exception {
+        JsonParser parser = parse("[[\"\\\\\",[]],3]", 2);
+
+        parser.skipChildren();
+
+        assertEquals(JsonToken.END_ARRAY, parser.currentToken());
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertEquals(3, parser.getLongValue());
+        assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+        assertNull(parser.nextToken());
+    }
+
+    @Test
+    void skipChildrenOfEmptyArray() throws Exception {
+        JsonParser parser = parse("[]", 1);
+
+        parser.skipChildren();
+
+        assertEquals(JsonToken.END_ARRAY, parser.currentToken());
+        assertNull(parser.nextToken());
+    }
+
+    @Test
+    void skipChildrenOfScalar() throws Exception {
+        JsonParser parser = parse("[1,2]", 2);
+
+        parser.skipChildren();
+
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.currentToken());
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertEquals(2, parser.getLongValue());
+    }
+
+    @Test
+    void skipChildrenWithUnexpectedEof() throws Exception {
+        assertParseError("Unexpected end of input", () -> parse("[[1,", 2).skipChildren());
+    }
+
+    @Test
+    void skipChildrenWithUnexpectedEofWithinString() throws Exception {
+        assertParseError("Unexpected end of input", () -> parse("[[\"foo", 2).skipChildren());
+    }
+
+    @Test
+    void skipChildrenWithUnexpectedEndStruct() throws Exception {
+        assertParseError("Unexpected '}'", () -> parse("[[1}", 2).skipChildren());
+    }
+
+    // Skip value
+
+    @Test
+    void skipValue() throws Exception {
+        JsonParser parser = parse("{\"a\":\"f\\\"o}o\",\"b\":-1.5e3,\"c\":{\"d\":[1,\"]\"]},\"e\":12,\"f\":true}", 2);
+
+        assertEquals(JsonToken.VALUE_STRING, parser.skipValue());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals(JsonToken.VALUE_NUMBER_FLOAT, parser.skipValue());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals(JsonToken.END_OBJECT, parser.skipValue());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.skipValue());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals("f", parser.getText().toString());
+        assertEquals(JsonToken.VALUE_TRUE, parser.skipValue());
+        assertEquals(JsonToken.END_OBJECT, parser.skipValue());
+        assertNull(parser.nextToken());
+    }
+
+    @Test
+    void skipValueThenDecode() throws Exception {
+        JsonParser parser = parse("[\"foo\",\"bar\",2]", 1);
+
+        assertEquals(JsonToken.VALUE_STRING, parser.skipValue());
+        assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+        assertEquals("bar", parser.getText().toString());
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertEquals(2, parser.getLongValue());
+    }
+
+    @Test
+    void skipValueRejectsInvalidNumbers() throws Exception {
+        String tooLong = String.join("", Collections.nCopies(1001, "1"));
+
+        for (String number : new String[] { "-", "--1", "-a", "01", "-01", "1.", "1.e1", "1e", "1e+", "1-2e",
+                "1.2.3", "1ee2", tooLong, "0." + tooLong, "1e" + tooLong }) {
+            String input = "[" + number + "]";
+
+            Exception expected = assertThrows(JsonParseException.class, () -> {
+                reset(input);
+
+                while (parser.nextToken() != null);
+            }, input);
+
+            Exception actual = assertThrows(JsonParseException.class, () -> {
+                parse(input, 1).skipValue();
+
+                while (parser.nextToken() != null);
+            }, input);
+
+            assertEquals(expected.getMessage(), actual.getMessage(), input);
+        }
+    }
+
+    @Test
+    void skipValueWithUnexpectedEofWithinString() throws Exception {
+        assertParseError("Unexpected end of input", () -> parse("[\"foo", 1).skipValue());
+    }
+
+    // Multiple root values
+
+    @Test
+    void multipleRootValues() throws Exception {
+        parser = newParser(newConfigBuilder().setMultipleRootValues(true));
+
+        reset("{} [1]\n\"foo\"\n 2 true");
+
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+        assertNull(parser.nextToken());
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+        assertNull(parser.nextToken());
+        assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+        assertEquals("foo", parser.getText().toString());
+        assertNull(parser.nextToken());
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertEquals(2, parser.getLongValue());
+        assertNull(parser.nextToken());
+        assertEquals(JsonToken.VALUE_TRUE, parser.nextToken());
+        assertNull(parser.nextToken());
+        assertNull(parser.nextToken());
+        assertNull(parser.nextToken());
+    }
+
+    @Test
+    void multipleRootValuesWithRecordSeparators() throws Exception {
+        parser = newParser(newConfigBuilder().setMultipleRootValues(true));
+
+        reset("\u001e1\n\u001e\u001e 2\n\u001e");
+
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertEquals(1, parser.getLongValue());
+        assertNull(parser.nextToken());
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertEquals(2, parser.getLongValue());
+        assertNull(parser.nextToken());
+        assertNull(parser.nextToken());
+    }
+
+    @Test
+    void multipleRootValuesWithoutValues() throws Exception {
+        parser = newParser(newConfigBuilder().setMultipleRootValues(true));
+
+        reset(" \n ");
+
+        assertNull(parser.nextToken());
+        assertNull(parser.nextToken());
+    }
+
+    @Test
+    void multipleRootValuesEndOfInput() throws Exception {
+        parser = newParser(newConfigBuilder().setMultipleRootValues(true));
+
+        reset("{}\n1");
+
+        assertFalse(isEndOfInput());
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+        assertNull(parser.nextToken());
+        assertFalse(isEndOfInput());
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertFalse(isEndOfInput());
+        assertNull(parser.nextToken());
+        assertFalse(isEndOfInput());
+        assertNull(parser.nextToken());
+        assertTrue(isEndOfInput());
+    }
+
+    @Test
+    void endOfInput() throws Exception {
+        reset("[]");
+
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+        assertFalse(isEndOfInput());
+        assertNull(parser.nextToken());
+        assertTrue(isEndOfInput());
+    }
+
+    @Test
+    void adjacentRootValues() throws Exception {
+        parser = newParser(newConfigBuilder().setMultipleRootValues(true));
+
+        reset("{}[]\"foo\"{}");
+
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+        assertNull(parser.nextToken());
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+        assertNull(parser.nextToken());
+        assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+        assertNull(parser.nextToken());
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+        assertNull(parser.nextToken());
+        assertNull(parser.nextToken());
+    }
+
+    @Test
+    void adjacentPrimitiveRootValues() throws Exception {
+        parser = newParser(newConfigBuilder().setMultipleRootValues(true));
+
+        assertParseError("Unexpected 'f'", () -> parse("truefalse", 2));
+        assertParseError("Unexpected 't'", () -> parse("1true", 2));
+        assertParseError("Unexpected '['", () -> parse("null[]", 2));
+        assertParseError("Unexpected '\"'", () -> parse("1.5\"foo\"", 2));
+    }
+
+    @Test
+    void recordSeparatorWithinArray() throws Exception {
+        parser = newParser(newConfigBuilder().setMultipleRootValues(true));
+
+        assertParseError("Unexpected '\u001e'", () -> parse("[\u001e1]"));
+    }
+
+    @Test
+    void recordSeparatorWithoutMultipleRootValues() throws Exception {
+        assertParseError("Unexpected '\u001e'", () -> parse("\u001e1"));
+    }
+
+    @Test
+    void unexpectedEofWithinSecondRootValue() throws Exception {
+        parser = newParser(newConfigBuilder().setMultipleRootValues(true));
+
+        reset("[] [");
+
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+        assertNull(parser.nextToken());
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertParseError("Unexpected end of input", () -> parser.nextToken());
+    }
+
     // State
 
     @Test
@@ -640,6 +1363,26 @@ abstract class JsonParserTest<P extends JsonParser> {
         assertParseError("Maximum nesting capacity exceeded", () -> parse("[[[[["));
     }
 
+    static JsonParserConfig.Builder newConfigBuilder() {
+        return JsonParserConfig.newBuilder()
+            .setBufferSize(8)
+            .setMinNestingCapacity(2)
+            .setMaxNestingCapacity(4)
+            .setMinFieldNameCapacity(4)
+            .setMaxFieldNameCapacity(8)
+            .setMinStringCapacity(8)
+            .setMaxStringCapacity(16);
+    }
+
+    static String repeat(final char ch, final int count) {
+        StringBuilder builder = new StringBuilder(count);
+
+        for (int i = 0; i < count; i++)
+            builder.append(ch);
+
+        return builder.toString();
+    }
+
     private JsonParser parse(final String input, final int numTokens) throws IOException {
         reset(input);
 
@@ -718,7 +1461,11 @@ abstract class JsonParserTest<P extends JsonParser> {
         assertTrue(text.contentEquals(parser.getText()));
     }
 
-    private static void assertParseError(final String message, final Executable executable) {
+    private boolean isEndOfInput() {
+        return ((AbstractJsonParser)parser).isEndOfInput();
+    }
+
+    static void assertParseError(final String message, final Executable executable) {
         Exception exception = assertThrows(JsonParseException.class, executable);
 
         assertEquals(message, exception.getMessage());
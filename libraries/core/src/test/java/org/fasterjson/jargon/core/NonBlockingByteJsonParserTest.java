@@ -0,0 +1,292 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NonBlockingByteJsonParserTest extends JsonParserTest<NonBlockingByteJsonParser> {
+
+    private static final String DOCUMENT = "" +
+        "{\n" +
+        "  \"null\": null,\n" +
+        "  \"false\": false,\n" +
+        "  \"true\": true,\n" +
+        "  \"int\": -1234567890123,\n" +
+        "  \"float\": 1.25e-3,\n" +
+        "  \"string\": \"f\\u00f6o\\n\\ud83d\\ude00\",\n" +
+        "  \"utf-8\": \"é€😀\",\n" +
+        "  \"array\": [1, [2], {}]\n" +
+        "}\n";
+
+    @BeforeEach
+    void setUp() {
+        parser = new NonBlockingByteJsonParser(CONFIG);
+    }
+
+    @Override
+    NonBlockingByteJsonParser newParser(final JsonParserConfig.Builder builder) {
+        return new NonBlockingByteJsonParser(builder.build());
+    }
+
+    @Override
+    void reset(final String input) {
+        byte[] bytes = input.getBytes(UTF_8);
+
+        parser.reset();
+        parser.feedInput(bytes, 0, bytes.length);
+        parser.endOfInput();
+    }
+
+    @Test
+    void notAvailableBeforeInput() throws Exception {
+        parser.reset();
+
+        assertTrue(parser.needMoreInput());
+        assertEquals(JsonToken.NOT_AVAILABLE, parser.nextToken());
+        assertTrue(parser.needMoreInput());
+    }
+
+    @Test
+    void notAvailableWithinToken() throws Exception {
+        parser.reset();
+
+        feed("[tr");
+
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertEquals(JsonToken.NOT_AVAILABLE, parser.nextToken());
+        assertTrue(parser.needMoreInput());
+
+        feed("ue]");
+
+        assertFalse(parser.needMoreInput());
+        assertEquals(JsonToken.VALUE_TRUE, parser.nextToken());
+        assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+        assertEquals(JsonToken.NOT_AVAILABLE, parser.nextToken());
+
+        parser.endOfInput();
+
+        assertNull(parser.nextToken());
+    }
+
+    @Test
+    void numberAtEndOfInput() throws Exception {
+        parser.reset();
+
+        feed("123");
+
+        assertEquals(JsonToken.NOT_AVAILABLE, parser.nextToken());
+
+        parser.endOfInput();
+
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertEquals(123, parser.getLongValue());
+        assertEquals("123", parser.getText().toString());
+        assertNull(parser.nextToken());
+    }
+
+    @Test
+    void unexpectedEofWithinToken() throws Exception {
+        parser.reset();
+
+        feed("[\"foo");
+
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertEquals(JsonToken.NOT_AVAILABLE, parser.nextToken());
+
+        parser.endOfInput();
+
+        assertParseError("Unexpected end of input", () -> parser.nextToken());
+    }
+
+    @Test
+    void feedInputWithoutNeedingMoreInput() throws Exception {
+        parser.reset();
+
+        feed("[");
+
+        assertThrows(IllegalStateException.class, () -> feed("]"));
+    }
+
+    @Test
+    void feedOneByteAtATime() throws Exception {
+        assertEquals(tokens(DOCUMENT, Integer.MAX_VALUE), tokens(DOCUMENT, 1));
+    }
+
+    @Test
+    void feedTwoBytesAtATime() throws Exception {
+        assertEquals(tokens(DOCUMENT, Integer.MAX_VALUE), tokens(DOCUMENT, 2));
+    }
+
+    @Test
+    void feedOneByteAtATimeWithZeroCopyText() throws Exception {
+        parser = new NonBlockingByteJsonParser(newConfigBuilder().setZeroCopyText(true).build());
+
+        assertEquals(tokens(DOCUMENT, Integer.MAX_VALUE), tokens(DOCUMENT, 1));
+    }
+
+    @Test
+    void skipChildrenOneByteAtATime() throws Exception {
+        byte[] input = "[[\"]\\\"\",[1]],true]".getBytes(UTF_8);
+
+        parser.reset();
+
+        int offset = 0;
+
+        while (parser.nextToken() != JsonToken.START_ARRAY)
+            parser.feedInput(input, offset++, 1);
+
+        while (parser.nextToken() != JsonToken.START_ARRAY)
+            parser.feedInput(input, offset++, 1);
+
+        while (true) {
+            parser.skipChildren();
+            if (!parser.needMoreInput())
+                break;
+
+            parser.feedInput(input, offset++, 1);
+        }
+
+        assertEquals(JsonToken.END_ARRAY, parser.currentToken());
+
+        while (parser.nextToken() == JsonToken.NOT_AVAILABLE)
+            parser.feedInput(input, offset++, 1);
+
+        assertEquals(JsonToken.VALUE_TRUE, parser.currentToken());
+    }
+
+    @Test
+    void skipChildrenLargeStruct() {
+        StringBuilder document = new StringBuilder("[[");
+
+        for (int i = 0; i < 100000; i++)
+            document.append("{\"a\":[1,\"}\\\"]\"]},");
+
+        document.append("{}],true]");
+
+        byte[] input = document.toString().getBytes(UTF_8);
+
+        // Skipping resumes where it stopped instead of scanning the skipped
+        // input again after each feed.
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            parser.reset();
+
+            int offset = 0;
+
+            while (parser.nextToken() != JsonToken.START_ARRAY)
+                offset += feed(input, offset, 7);
+
+            while (parser.nextToken() != JsonToken.START_ARRAY)
+                offset += feed(input, offset, 7);
+
+            while (true) {
+                parser.skipChildren();
+                if (!parser.needMoreInput())
+                    break;
+
+                offset += feed(input, offset, 7);
+            }
+
+            assertEquals(JsonToken.END_ARRAY, parser.currentToken());
+
+            while (parser.nextToken() == JsonToken.NOT_AVAILABLE)
+                offset += feed(input, offset, 7);
+
+            assertEquals(JsonToken.VALUE_TRUE, parser.currentToken());
+        });
+    }
+
+    @Test
+    void nextTokenWhileSkippingChildren() throws Exception {
+        parser.reset();
+
+        feed("[[1,");
+
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+
+        parser.skipChildren();
+
+        assertTrue(parser.needMoreInput());
+
+        assertThrows(IllegalStateException.class, () -> parser.nextToken());
+
+        feed("2]]");
+
+        parser.skipChildren();
+
+        assertEquals(JsonToken.END_ARRAY, parser.currentToken());
+        assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+    }
+
+    private int feed(final byte[] input, final int offset, final int length) {
+        int count = Math.min(length, input.length - offset);
+
+        parser.feedInput(input, offset, count);
+
+        return count;
+    }
+
+    private void feed(final String input) {
+        byte[] bytes = input.getBytes(UTF_8);
+
+        parser.feedInput(bytes, 0, bytes.length);
+    }
+
+    private List<String> tokens(final String input, final int chunkSize) throws IOException {
+        byte[] bytes = input.getBytes(UTF_8);
+
+        parser.reset();
+
+        List<String> tokens = new ArrayList<>();
+
+        int offset = 0;
+
+        while (true) {
+            JsonToken token = parser.nextToken();
+
+            if (token == null)
+                break;
+
+            if (token == JsonToken.NOT_AVAILABLE) {
+                if (offset == bytes.length) {
+                    parser.endOfInput();
+                }
+                else {
+                    int length = Math.min(chunkSize, bytes.length - offset);
+
+                    parser.feedInput(bytes, offset, length);
+
+                    offset += length;
+                }
+
+                continue;
+            }
+
+            tokens.add(token + " " + parser.currentName() + " " + parser.getText());
+        }
+
+        return tokens;
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core.io;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.fasterjson.jargon.core.ByteJsonParser;
+import org.fasterjson.jargon.core.JsonParserConfig;
+import org.fasterjson.jargon.core.JsonToken;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedFileSourceTest {
+
+    private static final String INPUT = "[\"foo\", 123, true]";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readAcrossWindows() throws Exception {
+        Path file = Files.write(directory.resolve("input.json"), INPUT.getBytes(UTF_8));
+
+        MappedFileSource source = new MappedFileSource(4);
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            source.reset(channel);
+
+            byte[] buffer = new byte[INPUT.length() + 2];
+
+            int length = 2;
+
+            while (true) {
+                int count = source.read(buffer, length);
+                if (count == -1)
+                    break;
+
+                assertTrue(count > 0 && count <= 4);
+
+                length += count;
+            }
+
+            assertEquals(INPUT, new String(buffer, 2, length - 2, UTF_8));
+        }
+    }
+
+    @Test
+    void parse() throws Exception {
+        Path file = Files.write(directory.resolve("input.json"), INPUT.getBytes(UTF_8));
+
+        MappedFileSource source = new MappedFileSource(5);
+
+        ByteJsonParser parser = new ByteJsonParser(JsonParserConfig.newBuilder()
+                .setBufferSize(8)
+                .build());
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            source.reset(channel);
+            parser.reset(source);
+
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+            assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+            assertEquals("foo", parser.getText().toString());
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+            assertEquals(123, parser.getLongValue());
+            assertEquals(JsonToken.VALUE_TRUE, parser.nextToken());
+            assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+            assertNull(parser.nextToken());
+        }
+    }
+
+    @Test
+    void close() throws Exception {
+        Path file = Files.write(directory.resolve("input.json"), INPUT.getBytes(UTF_8));
+
+        MappedFileSource source = new MappedFileSource(4);
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            source.reset(channel);
+
+            byte[] buffer = new byte[2];
+
+            assertEquals(2, source.read(buffer, 0));
+
+            source.close();
+
+            assertEquals(-1, source.read(buffer, 0));
+
+            // The file channel is left open.
+            assertTrue(channel.isOpen());
+
+            source.close();
+
+            channel.position(2);
+
+            source.reset(channel);
+
+            assertEquals(2, source.read(buffer, 0));
+            assertEquals("fo", new String(buffer, UTF_8));
+        }
+    }
+
+    @Test
+    void emptyFile() throws Exception {
+        Path file = Files.write(directory.resolve("input.json"), new byte[0]);
+
+        MappedFileSource source = new MappedFileSource();
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            source.reset(channel);
+
+            assertEquals(-1, source.read(new byte[8], 0));
+        }
+    }
+
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core.path;
+
+import static java.util.Arrays.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.fasterjson.jargon.core.CharJsonParser;
+import org.fasterjson.jargon.core.JsonParseException;
+import org.fasterjson.jargon.core.JsonParserConfig;
+import org.fasterjson.jargon.core.JsonToken;
+import org.fasterjson.jargon.core.io.CharSequenceSource;
+import org.junit.jupiter.api.Test;
+
+class JsonPathParserTest {
+
+    private static final String ORDERS = "" +
+            "{\"orders\":[" +
+            "{\"id\":1,\"items\":[{\"sku\":\"a\",\"qty\":5},{\"sku\":\"b\",\"qty\":20}]}," +
+            "{\"id\":2,\"items\":[{\"qty\":11,\"sku\":\"c\"},{\"sku\":\"d\",\"qty\":10.0}]}," +
+            "{\"id\":3,\"items\":[]}" +
+            "]}";
+
+    @Test
+    void root() throws Exception {
+        assertEquals(asList("{\"a\":[1,true]}"), read("$", "{\"a\":[1,true]}"));
+    }
+
+    @Test
+    void rootScalar() throws Exception {
+        assertEquals(asList("\"foo\""), read("$", "\"foo\""));
+    }
+
+    @Test
+    void child() throws Exception {
+        assertEquals(asList("[1,2]"), read("$.b", "{\"a\":{\"b\":0},\"b\":[1,2],\"c\":3}"));
+    }
+
+    @Test
+    void nestedChild() throws Exception {
+        assertEquals(asList("0"), read("$.a.b", "{\"a\":{\"b\":0},\"b\":{\"b\":1}}"));
+    }
+
+    @Test
+    void quotedChild() throws Exception {
+        assertEquals(asList("0"), read("$['a b'][\"c\"]", "{\"a b\":{\"c\":0}}"));
+    }
+
+    @Test
+    void wildcard() throws Exception {
+        assertEquals(asList("1", "{\"c\":2}", "[3]"), read("$.*", "{\"a\":1,\"b\":{\"c\":2},\"d\":[3]}"));
+        assertEquals(asList("1", "2"), read("$[*].a", "[{\"a\":1},{\"b\":0},{\"a\":2},3]"));
+    }
+
+    @Test
+    void index() throws Exception {
+        assertEquals(asList("\"b\""), read("$[1]", "[\"a\",\"b\",\"c\"]"));
+        assertEquals(asList("2"), read("$.a[1].b", "{\"a\":[{\"b\":1},{\"b\":2}]}"));
+        assertEquals(asList(), read("$[3]", "[0,1,2]"));
+    }
+
+    @Test
+    void noMatch() throws Exception {
+        assertEquals(asList(), read("$.x.y", "{\"x\":[{\"y\":1}],\"y\":2}"));
+        assertEquals(asList(), read("$[0]", "{\"0\":1}"));
+    }
+
+    @Test
+    void filter() throws Exception {
+        assertEquals(asList("\"b\"", "\"c\""), read("$.orders[*].items[?(@.qty>10)].sku", ORDERS));
+        assertEquals(asList("\"b\"", "\"c\"", "\"d\""), read("$.orders[*].items[?@.qty > 10].sku", ORDERS.replace("10.0", "10.5")));
+        assertEquals(asList("{\"sku\":\"a\",\"qty\":5}"), read("$.orders[*].items[?(@.qty <= 5)]", ORDERS));
+        assertEquals(asList(), read("$.orders[?(@.items.sku)].id", ORDERS));
+        assertEquals(asList("\"c\"", "\"d\""), read("$.orders[?(@.id == 2)].items[*].sku", ORDERS));
+    }
+
+    @Test
+    void filterOperators() throws Exception {
+        String input = "[{\"v\":1},{\"v\":2},{\"v\":\"2\"},{\"v\":true},{\"v\":null},{\"w\":2}]";
+
+        assertEquals(asList("1"), read("$[?(@.v < 2)].v", input));
+        assertEquals(asList("1", "2"), read("$[?(@.v <= 2)].v", input));
+        assertEquals(asList("2"), read("$[?(@.v > 1)].v", input));
+        assertEquals(asList("2"), read("$[?(@.v >= 2)].v", input));
+        assertEquals(asList("2"), read("$[?(@.v == 2)].v", input));
+        assertEquals(asList("1", "\"2\"", "true", "null"), read("$[?(@.v != 2)].v", input));
+        assertEquals(asList("\"2\""), read("$[?(@.v == \"2\")].v", input));
+        assertEquals(asList("true"), read("$[?(@.v == true)].v", input));
+        assertEquals(asList("null"), read("$[?(@.v == null)].v", input));
+        assertEquals(asList("1", "2", "\"2\"", "true", "null"), read("$[?(@.v)].v", input));
+        assertEquals(asList("{\"w\":2}"), read("$[?(@.w)]", input));
+    }
+
+    @Test
+    void filterOnScalars() throws Exception {
+        assertEquals(asList("3", "4"), read("$.a[?(@ > 2)]", "{\"a\":[1,2,3,4]}"));
+    }
+
+    @Test
+    void filterOnObjectValues() throws Exception {
+        assertEquals(asList("\"y\""), read("$[?(@.n == 2)].s", "{\"a\":{\"n\":1,\"s\":\"x\"},\"b\":{\"n\":2,\"s\":\"y\"}}"));
+    }
+
+    @Test
+    void nestedFilters() throws Exception {
+        String input = "[{\"x\":1,\"items\":[{\"q\":1,\"id\":\"a\"},{\"q\":2,\"id\":\"b\"}]}," +
+                "{\"items\":[{\"q\":2,\"id\":\"c\"}]}," +
+                "{\"x\":2,\"items\":[{\"id\":\"d\",\"q\":3}]}]";
+
+        assertEquals(asList("\"b\"", "\"d\""), read("$[?(@.x)].items[?(@.q > 1)].id", input));
+    }
+
+    @Test
+    void nestedFilterPath() throws Exception {
+        String input = "[{\"a\":{\"b\":{\"c\":1}},\"id\":1},{\"a\":{\"b\":2},\"id\":2},{\"a\":{\"b\":{\"c\":3}},\"id\":3}]";
+
+        assertEquals(asList("3"), read("$[?(@.a.b.c > 2)].id", input));
+        assertEquals(asList("1", "3"), read("$[?(@.a['b'].c)].id", input));
+    }
+
+    @Test
+    void currentName() throws Exception {
+        JsonPathParser parser = parser("$.a.*", "{\"a\":{\"b\":1,\"c\":[2]}}");
+
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertEquals("b", parser.currentName().toString());
+        assertNull(parser.nextToken());
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        assertEquals("c", parser.currentName().toString());
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertNull(parser.currentName());
+        assertEquals(JsonToken.END_ARRAY, parser.nextToken());
+        assertNull(parser.nextToken());
+        assertNull(parser.nextToken());
+    }
+
+    @Test
+    void currentNameInFilter() throws Exception {
+        JsonPathParser parser = parser("$[?(@.v)]", "{\"a\":{\"v\":1}}");
+
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        assertEquals("a", parser.currentName().toString());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals("v", parser.currentName().toString());
+        assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+        assertEquals("v", parser.currentName().toString());
+        assertEquals(1, parser.getLongValue());
+        assertEquals(1.0, parser.getDoubleValue());
+        assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+        assertNull(parser.nextToken());
+        assertNull(parser.nextToken());
+    }
+
+    @Test
+    void skipChildren() throws Exception {
+        JsonPathParser parser = parser("$[*]", "[{\"a\":[1,2]},{\"b\":3}]");
+
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+        parser.skipChildren();
+        assertEquals(JsonToken.END_ARRAY, parser.currentToken());
+        assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+        assertNull(parser.nextToken());
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        parser.skipChildren();
+        assertEquals(JsonToken.END_OBJECT, parser.currentToken());
+        assertNull(parser.nextToken());
+        assertNull(parser.nextToken());
+    }
+
+    @Test
+    void skipChildrenInFilter() throws Exception {
+        JsonPathParser parser = parser("$[?(@.b)]", "[{\"a\":[1,2],\"b\":true},{\"b\":{\"c\":3}}]");
+
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        parser.skipChildren();
+        assertEquals(JsonToken.END_OBJECT, parser.currentToken());
+        assertNull(parser.nextToken());
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+        assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+        parser.skipChildren();
+        assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+        assertNull(parser.nextToken());
+        assertNull(parser.nextToken());
+    }
+
+    @Test
+    void skippedSubtreesAreNotDecoded() throws Exception {
+        // The invalid escape sequence is not decoded.
+        assertEquals(asList("1"), read("$.b", "{\"a\":{\"x\":\"\\q\"},\"b\":1}"));
+    }
+
+    @Test
+    void invalidInput() {
+        assertThrows(JsonParseException.class, () -> read("$[*].a", "[{\"a\":1},{\"a\":}]"));
+    }
+
+    @Test
+    void multipleRootValues() throws Exception {
+        CharSequenceSource source = new CharSequenceSource();
+
+        source.reset("{\"a\":1} {\"a\":2}");
+
+        CharJsonParser parser = new CharJsonParser(JsonParserConfig.newBuilder()
+                .setMultipleRootValues(true)
+                .build());
+
+        parser.reset(source);
+
+        JsonPathParser pathParser = new JsonPathParser(JsonPath.compile("$.a"));
+
+        pathParser.reset(parser);
+
+        assertEquals(asList("1"), values(pathParser));
+        assertEquals(asList("2"), values(pathParser));
+        assertEquals(asList(), values(pathParser));
+    }
+
+    private static List<String> read(final String path, final String input) throws IOException {
+        return values(parser(path, input));
+    }
+
+    private static JsonPathParser parser(final String path, final String input) {
+        CharSequenceSource source = new CharSequenceSource();
+
+        source.reset(input);
+
+        CharJsonParser parser = new CharJsonParser();
+
+        parser.reset(source);
+
+        JsonPathParser pathParser = new JsonPathParser(JsonPath.compile(path));
+
+        pathParser.reset(parser);
+
+        return pathParser;
+    }
+
+    private static List<String> values(final JsonPathParser parser) throws IOException {
+        List<String> values = new ArrayList<>();
+
+        while (true) {
+            JsonToken token = parser.nextToken();
+            if (token == null)
+                break;
+
+            StringBuilder value = new StringBuilder();
+
+            JsonToken previousToken = null;
+
+            while (token != null) {
+                if (previousToken != null && previousToken != JsonToken.FIELD_NAME &&
+                        !previousToken.isStructStart() && !token.isStructEnd())
+                    value.append(',');
+
+                if (token == JsonToken.FIELD_NAME)
+                    value.append('"').append(parser.getText()).append("\":");
+                else if (token == JsonToken.VALUE_STRING)
+                    value.append('"').append(parser.getText()).append('"');
+                else
+                    value.append(parser.getText());
+
+                previousToken = token;
+
+                token = parser.nextToken();
+            }
+
+            values.add(value.toString());
+        }
+
+        return values;
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core.path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class JsonPathTest {
+
+    @Test
+    void compile() {
+        assertEquals("$.a[*]['b'][0][?(@.c > 1)]", JsonPath.compile("$.a[*]['b'][0][?(@.c > 1)]").toString());
+        assertEquals(5, JsonPath.compile("$.a[*]['b'][0][?(@.c > 1)]").getSteps().length);
+        assertEquals(0, JsonPath.compile("$").getSteps().length);
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile(""));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("a"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$."));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$["));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$['a'"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$[?(@.a > )]"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$[?(@.a > 1]"));
+    }
+
+    @Test
+    void unsupported() {
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$..a"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$[0:2]"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$[0,2]"));
+        assertThrows(IllegalArgumentException.class, () -> JsonPath.compile("$[-1]"));
+    }
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core.path;
+
+import static java.util.Arrays.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.fasterjson.jargon.core.CharJsonParser;
+import org.fasterjson.jargon.core.JsonParser;
+import org.fasterjson.jargon.core.JsonParserConfig;
+import org.fasterjson.jargon.core.JsonToken;
+import org.fasterjson.jargon.core.io.CharSequenceSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JsonPointerRouterTest {
+
+    private static final String DOCUMENT = "" +
+            "{\"id\":1,\"orders\":[" +
+            "{\"sku\":\"a\",\"qty\":[1,2]}," +
+            "{\"sku\":\"b\",\"qty\":3}" +
+            "],\"a/b\":true,\"m~n\":false,\"0\":\"zero\",\"\":null}";
+
+    private JsonPointerRouter router;
+
+    private List<String> values;
+
+    @BeforeEach
+    void setUp() {
+        router = new JsonPointerRouter();
+
+        values = new ArrayList<>();
+    }
+
+    @Test
+    void root() throws Exception {
+        subscribe("");
+
+        route("[1,{\"a\":true}]");
+
+        assertEquals(asList(":[1,{\"a\":true}]"), values);
+    }
+
+    @Test
+    void fields() throws Exception {
+        subscribe("/id");
+        subscribe("/orders/1/sku");
+        subscribe("/a~1b");
+        subscribe("/m~0n");
+        subscribe("/");
+        subscribe("/missing");
+
+        route(DOCUMENT);
+
+        assertEquals(asList("/id:1", "/orders/1/sku:\"b\"", "/a~1b:true", "/m~0n:false", "/:null"), values);
+    }
+
+    @Test
+    void containers() throws Exception {
+        subscribe("/orders/0");
+        subscribe("/orders/0/qty");
+
+        route(DOCUMENT);
+
+        assertEquals(asList("/orders/0:{\"sku\":\"a\",\"qty\":[1,2]}", "/orders/0/qty:[1,2]"), values);
+    }
+
+    @Test
+    void nestedValues() throws Exception {
+        subscribe("/orders");
+        subscribe("/orders/0/qty/1");
+        subscribe("/orders/1/qty");
+
+        route(DOCUMENT);
+
+        assertEquals(3, values.size());
+        assertTrue(values.get(0).startsWith("/orders:[{"));
+        assertEquals("/orders/0/qty/1:2", values.get(1));
+        assertEquals("/orders/1/qty:3", values.get(2));
+    }
+
+    @Test
+    void arrayIndexes() throws Exception {
+        subscribe("/0");
+        subscribe("/2");
+        subscribe("/10");
+        subscribe("/01");
+        subscribe("/-");
+
+        route("[0,1,2,3,4,5,6,7,8,9,10,11]");
+
+        assertEquals(asList("/0:0", "/2:2", "/10:10"), values);
+    }
+
+    @Test
+    void arrayIndexAsFieldName() throws Exception {
+        subscribe("/0");
+
+        route(DOCUMENT);
+
+        assertEquals(asList("/0:\"zero\""), values);
+    }
+
+    @Test
+    void multipleSubscribers() throws Exception {
+        subscribe("/orders/0/qty");
+        subscribe("/orders/0/qty");
+        subscribe("/orders/1/qty");
+
+        route(DOCUMENT);
+
+        assertEquals(asList("/orders/0/qty:[1,2]", "/orders/0/qty:[1,2]", "/orders/1/qty:3"), values);
+    }
+
+    @Test
+    void manySubscriptions() throws Exception {
+        for (int i = 0; i < 1000; i++)
+            subscribe("/f" + i);
+
+        StringBuilder document = new StringBuilder("{");
+
+        for (int i = 0; i < 2000; i += 100) {
+            if (i > 0)
+                document.append(',');
+
+            document.append("\"f").append(i).append("\":").append(i);
+        }
+
+        document.append('}');
+
+        route(document.toString());
+
+        assertEquals(10, values.size());
+        assertEquals("/f0:0", values.get(0));
+        assertEquals("/f900:900", values.get(9));
+    }
+
+    @Test
+    void skippedSubtreesAreNotDecoded() throws Exception {
+        subscribe("/b");
+
+        route("{\"a\":{\"x\":\"\\q\"},\"b\":1}");
+
+        assertEquals(asList("/b:1"), values);
+    }
+
+    @Test
+    void multipleRootValues() throws Exception {
+        subscribe("/a");
+
+        CharSequenceSource source = new CharSequenceSource();
+
+        source.reset("{\"a\":1}\n{\"a\":2}\n");
+
+        CharJsonParser parser = new CharJsonParser(JsonParserConfig.newBuilder()
+                .setMultipleRootValues(true)
+                .build());
+
+        parser.reset(source);
+
+        router.route(parser);
+
+        assertEquals(asList("/a:1"), values);
+
+        router.route(parser);
+
+        assertEquals(asList("/a:1", "/a:2"), values);
+    }
+
+    @Test
+    void invalidPointer() {
+        assertThrows(IllegalArgumentException.class, () -> subscribe("a"));
+        assertThrows(IllegalArgumentException.class, () -> subscribe("/a~"));
+        assertThrows(IllegalArgumentException.class, () -> subscribe("/a~2"));
+    }
+
+    private void subscribe(final String pointer) {
+        router.subscribe(pointer, value -> values.add(pointer + ":" + render(value)));
+    }
+
+    private void route(final String input) throws IOException {
+        CharSequenceSource source = new CharSequenceSource();
+
+        source.reset(input);
+
+        CharJsonParser parser = new CharJsonParser();
+
+        parser.reset(source);
+
+        router.route(parser);
+    }
+
+    private static String render(final JsonParser parser) throws IOException {
+        StringBuilder value = new StringBuilder();
+
+        JsonToken previousToken = null;
+
+        for (JsonToken token = parser.currentToken(); token != null; token = parser.nextToken()) {
+            if (previousToken != null && previousToken != JsonToken.FIELD_NAME &&
+                    !previousToken.isStructStart() && !token.isStructEnd())
+                value.append(',');
+
+            if (token == JsonToken.FIELD_NAME)
+                value.append('"').append(parser.getText()).append("\":");
+            else if (token == JsonToken.VALUE_STRING)
+                value.append('"').append(parser.getText()).append('"');
+            else
+                value.append(parser.getText());
+
+            previousToken = token;
+        }
+
+        return value.toString();
+    }
+
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.core.pool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.fasterjson.jargon.core.ByteJsonParser;
+import org.junit.jupiter.api.Test;
+
+class ObjectPoolTest {
+
+    @Test
+    void acquireAndRelease() {
+        ObjectPool<StringBuilder> pool = new ObjectPool<>(StringBuilder::new);
+
+        StringBuilder first = pool.acquire();
+
+        assertEquals(0, pool.getHits());
+        assertEquals(1, pool.getMisses());
+
+        pool.release(first);
+
+        assertEquals(1, pool.getRetainedObjects());
+
+        assertSame(first, pool.acquire());
+
+        assertEquals(1, pool.getHits());
+        assertEquals(1, pool.getMisses());
+        assertEquals(0, pool.getRetainedObjects());
+    }
+
+    @Test
+    void sizeClasses() {
+        ObjectPoolConfig config = ObjectPoolConfig.newBuilder()
+                .setStripeCount(1)
+                .addSizeClass(1024, 1)
+                .addSizeClass(64, 2)
+                .build();
+
+        ObjectPool<StringBuilder> pool = new ObjectPool<>(StringBuilder::new, StringBuilder::capacity, config);
+
+        pool.release(new StringBuilder(16));
+        pool.release(new StringBuilder(16));
+        pool.release(new StringBuilder(16));
+
+        assertEquals(2, pool.getRetainedObjects());
+        assertEquals(32, pool.getRetainedBytes());
+        assertEquals(1, pool.getDiscards());
+
+        pool.release(new StringBuilder(512));
+        pool.release(new StringBuilder(512));
+        pool.release(new StringBuilder(2048));
+
+        assertEquals(3, pool.getRetainedObjects());
+        assertEquals(544, pool.getRetainedBytes());
+        assertEquals(3, pool.getDiscards());
+
+        // The smallest size class is taken first.
+        assertEquals(16, pool.acquire().capacity());
+        assertEquals(16, pool.acquire().capacity());
+        assertEquals(512, pool.acquire().capacity());
+
+        assertEquals(0, pool.getRetainedObjects());
+        assertEquals(0, pool.getRetainedBytes());
+    }
+
+    @Test
+    void stripes() {
+        ObjectPoolConfig config = ObjectPoolConfig.newBuilder()
+                .setStripeCount(4)
+                .addSizeClass(Long.MAX_VALUE, 4)
+                .build();
+
+        ObjectPool<StringBuilder> pool = new ObjectPool<>(StringBuilder::new, object -> 1, config);
+
+        StringBuilder first = new StringBuilder();
+
+        // A thread only uses the slot in its own stripe.
+        pool.release(first);
+        pool.release(new StringBuilder());
+
+        assertEquals(1, pool.getRetainedObjects());
+        assertEquals(1, pool.getDiscards());
+
+        assertSame(first, pool.acquire());
+
+        pool.acquire();
+
+        assertEquals(1, pool.getHits());
+        assertEquals(1, pool.getMisses());
+    }
+
+    @Test
+    void otherStripes() throws Exception {
+        ObjectPoolConfig config = ObjectPoolConfig.newBuilder()
+                .setStripeCount(4)
+                .addSizeClass(Long.MAX_VALUE, 4)
+                .build();
+
+        ObjectPool<StringBuilder> pool = new ObjectPool<>(StringBuilder::new, object -> 1, config);
+
+        StringBuilder released = new StringBuilder();
+
+        // A thread falls back to the stripes of other threads.
+        Thread thread = new Thread(() -> pool.release(released));
+
+        thread.start();
+        thread.join();
+
+        assertSame(released, pool.acquire());
+
+        assertEquals(1, pool.getHits());
+        assertEquals(0, pool.getMisses());
+    }
+
+    @Test
+    void releaseNull() {
+        ObjectPool<StringBuilder> pool = new ObjectPool<>(StringBuilder::new);
+
+        assertThrows(NullPointerException.class, () -> pool.release(null));
+
+        assertEquals(0, pool.getRetainedObjects());
+    }
+
+    @Test
+    void clear() {
+        ObjectPool<StringBuilder> pool = new ObjectPool<>(StringBuilder::new, StringBuilder::capacity,
+                ObjectPoolConfig.DEFAULTS);
+
+        pool.release(new StringBuilder(16));
+        pool.release(new StringBuilder(16));
+
+        pool.clear();
+
+        assertEquals(0, pool.getRetainedObjects());
+        assertEquals(0, pool.getRetainedBytes());
+
+        pool.acquire();
+
+        assertEquals(1, pool.getMisses());
+    }
+
+    @Test
+    void parsers() {
+        ObjectPool<ByteJsonParser> pool = new ObjectPool<>(ByteJsonParser::new);
+
+        ByteJsonParser parser = pool.acquire();
+
+        pool.release(parser);
+
+        assertSame(parser, pool.acquire());
+    }
+
+    @Test
+    void concurrentAcquireAndRelease() throws Exception {
+        ObjectPoolConfig config = ObjectPoolConfig.newBuilder()
+                .setStripeCount(8)
+                .addSizeClass(Long.MAX_VALUE, 16)
+                .build();
+
+        ObjectPool<Object> pool = new ObjectPool<>(Object::new, object -> 1, config);
+
+        Set<Object> inUse = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < 32; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+
+                    for (int j = 0; j < 10000; j++) {
+                        Object object = pool.acquire();
+
+                        // An object must not be handed out twice.
+                        if (!inUse.add(object))
+                            throw new AssertionError("Object acquired twice");
+
+                        inUse.remove(object);
+
+                        pool.release(object);
+                    }
+                }
+                catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+
+            thread.start();
+
+            threads.add(thread);
+        }
+
+        start.countDown();
+
+        for (Thread thread : threads)
+            thread.join();
+
+        assertEquals(Collections.emptyList(), failures);
+
+        assertTrue(pool.getRetainedObjects() <= 16);
+        assertEquals(pool.getRetainedObjects(), pool.getRetainedBytes());
+        assertEquals(32 * 10000, pool.getHits() + pool.getMisses());
+    }
+
+    @Test
+    void mbean() throws Exception {
+        ObjectPool<StringBuilder> pool = new ObjectPool<>(StringBuilder::new, StringBuilder::capacity,
+                ObjectPoolConfig.DEFAULTS);
+
+        pool.release(pool.acquire());
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        ObjectName name = new ObjectName("org.fasterjson.jargon:type=ObjectPool,name=test");
+
+        server.registerMBean(pool, name);
+
+        try {
+            assertEquals(1L, server.getAttribute(name, "Misses"));
+            assertEquals(1L, server.getAttribute(name, "RetainedObjects"));
+            assertEquals(16L, server.getAttribute(name, "RetainedBytes"));
+        }
+        finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.databind;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.fasterjson.jargon.core.FieldMatcher;
+
+/**
+ * <p>A JSON projection.</p>
+ *
+ * <p>A JSON projection selects the parts of a document that a
+ * {@linkplain JsonTree JSON tree} materializes. It consists of paths of field
+ * names. A path selects the value it leads to, including all of its
+ * descendants, and the containers on the way to it. An empty path selects the
+ * whole document.</p>
+ *
+ * <p>Arrays are transparent to paths: a path that leads through an array
+ * applies to each of its elements. For example, the path {@code items.id}
+ * selects the {@code id} field of each object in the {@code items} array.
+ * Scalar values that a path leads through are not selected, so the elements
+ * of a projected array may be fewer than the original ones.</p>
+ *
+ * <p>A JSON tree skips the values of the fields not selected by a projection
+ * using {@link org.fasterjson.jargon.core.JsonParser#skipValue()}, without
+ * decoding them, allocating nodes or copying text for them. It skips the
+ * other values not selected using
+ * {@link org.fasterjson.jargon.core.JsonParser#skipChildren()}.</p>
+ */
+public class JsonProjection {
+
+    private final Selection root;
+
+    private JsonProjection(final Selection root) {
+        this.root = root;
+    }
+
+    /**
+     * Create a new projection builder.
+     *
+     * @return a new projection builder
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a projection from dot-separated paths, such as {@code a.b.c}.
+     *
+     * @param paths the paths
+     * @return a projection
+     * @throws IllegalArgumentException if a path contains an empty field name
+     */
+    public static JsonProjection of(final String... paths) {
+        Builder builder = newBuilder();
+
+        for (String path : paths)
+            builder.addPath(path.isEmpty() ? new String[0] : path.split("\\.", -1));
+
+        return builder.build();
+    }
+
+    Selection getRoot() {
+        return root;
+    }
+
+    /*
+     * The selection for a value and its descendants.
+     */
+    static final class Selection {
+
+        static final Selection ALL = new Selection(FieldMatcher.of(), new Selection[0]);
+
+        private final FieldMatcher fieldNames;
+
+        private final Selection[] children;
+
+        private Selection(final FieldMatcher fieldNames, final Selection[] children) {
+            this.fieldNames = fieldNames;
+
+            this.children = children;
+        }
+
+        boolean isAll() {
+            return this == ALL;
+        }
+
+        /*
+         * Return the selection for a field of an object value, or null if
+         * the field is not selected.
+         */
+        Selection get(final CharSequence fieldName) {
+            if (this == ALL)
+                return ALL;
+
+            int index = fieldNames.match(fieldName);
+
+            return index != -1 ? children[index] : null;
+        }
+
+    }
+
+    /**
+     * A JSON projection builder.
+     */
+    public static class Builder {
+
+        private final PathNode root;
+
+        private Builder() {
+            root = new PathNode();
+        }
+
+        /**
+         * Add a path.
+         *
+         * @param fieldNames the field names on the path
+         * @return this instance
+         * @throws IllegalArgumentException if a field name is empty
+         */
+        public Builder addPath(final String... fieldNames) {
+            PathNode node = root;
+
+            for (String fieldName : fieldNames) {
+                if (fieldName.isEmpty())
+                    throw new IllegalArgumentException("Empty field name");
+
+                node = node.children.computeIfAbsent(fieldName, key -> new PathNode());
+            }
+
+            node.all = true;
+
+            return this;
+        }
+
+        /**
+         * Build the projection.
+         *
+         * @return the projection
+         */
+        public JsonProjection build() {
+            return new JsonProjection(root.toSelection());
+        }
+
+    }
+
+    private static class PathNode {
+
+        final Map<String, PathNode> children = new LinkedHashMap<>();
+
+        boolean all;
+
+        Selection toSelection() {
+            if (all)
+                return Selection.ALL;
+
+            List<String> fieldNames = new ArrayList<>(children.keySet());
+
+            Selection[] selections = new Selection[fieldNames.size()];
+
+            for (int i = 0; i < selections.length; i++)
+                selections[i] = children.get(fieldNames.get(i)).toSelection();
+
+            return new Selection(FieldMatcher.of(fieldNames.toArray(new String[0])), selections);
+        }
+
+    }
+
+}
@@ -35,6 +35,9 @@ import org.fasterjson.jargon.databind.node.MissingNode;
  * JSON tree's internal data structures. When needed, a JSON tree grows their
  * capacity from the minimum up to the maximum. An attempt to exceed the
  * maximum results in a {@link JsonMappingException}.</p>
+ *
+ * <p>A {@link JsonProjection} restricts a JSON tree to the parts of a
+ * document that it selects.</p>
  */
 public class JsonTree {
 
@@ -61,6 +64,11 @@ public class JsonTree {
 
     private int[] containerStartIndexes;
 
+    private JsonProjection.Selection[] containerSelections;
+
+    // The selection for the value of the current field.
+    private JsonProjection.Selection fieldSelection;
+
     private Node currentContainerNode;
 
     private ContainerType currentContainerType;
@@ -99,6 +107,8 @@ public class JsonTree {
 
         containerStartIndexes = new int[config.getMinNestingCapacity()];
 
+        containerSelections = new JsonProjection.Selection[config.getMinNestingCapacity()];
+
         currentContainerNode = null;
 
         currentContainerType = null;
@@ -120,6 +130,29 @@ public class JsonTree {
      * @throws IOException if an I/O error occurs
      */
     public JsonNode reset(final JsonParser parser) throws IOException {
+        return reset(parser, JsonProjection.Selection.ALL);
+    }
+
+    /**
+     * <p>Reset this instance using a projection.</p>
+     *
+     * <p>Only the values selected by the projection are materialized. The
+     * other values are skipped.</p>
+     *
+     * <p><strong>Note.</strong> This method invalidates all JSON nodes
+     * obtained through prior invocations of this method or the
+     * {@link #getRoot()} method.</p>
+     *
+     * @param parser a JSON parser
+     * @param projection a JSON projection
+     * @return the root JSON node
+     * @throws IOException if an I/O error occurs
+     */
+    public JsonNode reset(final JsonParser parser, final JsonProjection projection) throws IOException {
+        return reset(parser, projection.getRoot());
+    }
+
+    private JsonNode reset(final JsonParser parser, final JsonProjection.Selection rootSelection) throws IOException {
         int index = 0;
 
         depth = 0;
@@ -140,6 +173,32 @@ public class JsonTree {
 
             CharSequence currentName = parser.currentName();
 
+            if (currentToken == JsonToken.FIELD_NAME) {
+                handleFieldName(previousToken);
+
+                fieldSelection = containerSelections[depth - 1].get(parser.getText());
+
+                // Skip the value of a field that is not selected without
+                // decoding it.
+                previousToken = fieldSelection != null ? currentToken : parser.skipValue();
+
+                continue;
+            }
+
+            JsonProjection.Selection selection = null;
+
+            if (!currentToken.isStructEnd()) {
+                selection = select(rootSelection);
+
+                if (selection == null || !selection.isAll() && !currentToken.isStructStart()) {
+                    parser.skipChildren();
+
+                    previousToken = parser.currentToken();
+
+                    continue;
+                }
+            }
+
             switch (currentToken) {
             case END_ARRAY:
                 handleEndStruct(index, ContainerType.ARRAY);
@@ -147,18 +206,15 @@ public class JsonTree {
             case END_OBJECT:
                 handleEndStruct(index, ContainerType.OBJECT);
                 break;
-            case FIELD_NAME:
-                handleFieldName(previousToken);
-                break;
             case START_ARRAY:
                 handleValue();
                 set(index, currentName, Type.ARRAY);
-                handleStartStruct(index++, ContainerType.ARRAY);
+                handleStartStruct(index++, ContainerType.ARRAY, selection);
                 break;
             case START_OBJECT:
                 handleValue();
                 set(index, currentName, Type.OBJECT);
-                handleStartStruct(index++, ContainerType.OBJECT);
+                handleStartStruct(index++, ContainerType.OBJECT, selection);
                 break;
             case VALUE_FALSE:
                 handleValue();
@@ -206,6 +262,8 @@ public class JsonTree {
             mappingError("Maximum nesting capacity exceeded");
 
         containerStartIndexes = Arrays.copyOf(containerStartIndexes, newNestingCapacity);
+
+        containerSelections = Arrays.copyOf(containerSelections, newNestingCapacity);
     }
 
     private void increaseNodeCapacity() throws JsonMappingException {
@@ -227,10 +285,13 @@ public class JsonTree {
             nextSiblingIndexes[i] = i + 1;
     }
 
-    private void handleStartStruct(final int index, final ContainerType containerType) throws JsonMappingException {
+    private void handleStartStruct(final int index, final ContainerType containerType,
+            final JsonProjection.Selection selection) throws JsonMappingException {
         if (depth == containerStartIndexes.length)
             increaseNestingCapacity();
 
+        containerSelections[depth] = selection;
+
         containerStartIndexes[depth++] = index;
 
         currentContainerNode = nodes[index];
@@ -271,6 +332,23 @@ public class JsonTree {
             unexpectedFieldName();
     }
 
+    private JsonProjection.Selection select(final JsonProjection.Selection rootSelection)
+            throws JsonMappingException {
+        if (currentContainerNode == null)
+            return rootSelection;
+
+        JsonProjection.Selection containerSelection = containerSelections[depth - 1];
+
+        // Arrays are transparent to projections.
+        if (currentContainerType == ContainerType.ARRAY || containerSelection.isAll())
+            return containerSelection;
+
+        if (previousToken != JsonToken.FIELD_NAME)
+            missingFieldName();
+
+        return fieldSelection;
+    }
+
     private void handleValue() throws JsonMappingException {
         if (currentContainerNode == null)
             return;
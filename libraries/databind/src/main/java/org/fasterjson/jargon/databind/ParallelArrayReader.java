@@ -0,0 +1,745 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.databind;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.fasterjson.jargon.core.ByteBufferJsonParser;
+import org.fasterjson.jargon.core.JsonParseException;
+import org.fasterjson.jargon.core.JsonParserConfig;
+import org.fasterjson.jargon.core.internal.Unmapper;
+import org.fasterjson.jargon.core.io.JsonEOFException;
+import org.fasterjson.jargon.core.pool.ObjectPool;
+import org.fasterjson.jargon.core.pool.ObjectPoolConfig;
+
+/**
+ * <p>A parallel reader for JSON files that consist of a single large
+ * array.</p>
+ *
+ * <p>This class splits the file into chunks of approximately the chunk size
+ * and scans the chunks speculatively on a fork/join pool. As the element
+ * boundaries are not known in advance, each chunk except the first one
+ * guesses that its first element is the first object that follows the end
+ * of an object and a comma. Each chunk then finds the elements that start
+ * within it, tracking the string and escape state to find the end of each
+ * element. If it finds an end of array that is not followed by the end of
+ * input, the guess pointed into a nested array of objects, and the chunk
+ * guesses again after it.</p>
+ *
+ * <p>A guess is valid if the preceding chunk ends exactly where the chunk
+ * starts. Otherwise, the guess was wrong, for example because it pointed
+ * into a string or into a nested array that extends past the end of the
+ * chunk, and the chunk is scanned again sequentially from the correct
+ * position on the calling thread.</p>
+ *
+ * <p>Once the start of a chunk is confirmed, each of its elements is read
+ * into a {@linkplain JsonTree JSON tree} and passed to a mapper on a worker
+ * thread, so the mapper is applied exactly once to each array element and
+ * never to other values. The mapper must not retain the JSON node, as the
+ * JSON tree is reused for the next element. The results of the mapper are
+ * passed to a consumer in file order on the calling thread.</p>
+ *
+ * <p>If reading fails, the tasks in flight are stopped and awaited before
+ * the error is thrown, so no mapper is running when this method
+ * returns.</p>
+ *
+ * <p>Each chunk maps up to one chunk size past its end and grows the mapping
+ * if an element crosses its end. The part of a chunk up to the end of its
+ * last element must not exceed 2 GiB.</p>
+ *
+ * <p>The parallel speedup depends on the guesses being right, which is
+ * typically the case for an array of objects. For an array of other
+ * values, every chunk falls back to sequential parsing.</p>
+ */
+public class ParallelArrayReader {
+
+    /**
+     * The default chunk size.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+
+    private static final ByteBuffer EMPTY_INPUT = ByteBuffer.allocate(0);
+
+    private static final int HT = 0x09;
+    private static final int LF = 0x0a;
+    private static final int CR = 0x0d;
+    private static final int SP = 0x20;
+
+    private static final int SCAN_BUFFER_SIZE = 4096;
+
+    private static final int INITIAL_ELEMENT_CAPACITY = 64;
+
+    private final ForkJoinPool pool;
+
+    private final int chunkSize;
+
+    private final ObjectPool<Worker> workers;
+
+    /**
+     * Construct a new instance using the common fork/join pool, the default
+     * chunk size and the default JSON parser and JSON tree configurations.
+     */
+    public ParallelArrayReader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, JsonParserConfig.DEFAULTS, JsonTreeConfig.DEFAULTS);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param pool the fork/join pool
+     * @param chunkSize the chunk size
+     * @param parserConfig the JSON parser configuration
+     * @param treeConfig the JSON tree configuration
+     */
+    public ParallelArrayReader(final ForkJoinPool pool, final int chunkSize,
+            final JsonParserConfig parserConfig, final JsonTreeConfig treeConfig) {
+        this.pool = pool;
+
+        this.chunkSize = chunkSize;
+
+        // Retain one worker for each thread in the fork/join pool and one
+        // for the calling thread.
+        this.workers = new ObjectPool<>(() -> new Worker(parserConfig, treeConfig), worker -> 0,
+                ObjectPoolConfig.newBuilder()
+                    .addSizeClass(Long.MAX_VALUE, pool.getParallelism() + 1)
+                    .build());
+    }
+
+    /**
+     * Read a file and pass the results in file order to a consumer on the
+     * calling thread. The file is read from the current position of the file
+     * channel to its end. The file channel is not closed.
+     *
+     * @param <R> the type of results
+     * @param channel the input file channel
+     * @param mapper a function that maps an array element to a result
+     * @param consumer a consumer of results
+     * @throws IOException if an I/O error occurs
+     */
+    public <R> void read(final FileChannel channel, final Function<? super JsonNode, ? extends R> mapper,
+            final Consumer<? super R> consumer) throws IOException {
+        long size = channel.size();
+
+        long firstElement = arrayStart(channel, channel.position(), size);
+
+        long chunkCount = Math.max((size - firstElement + chunkSize - 1) / chunkSize, 1);
+
+        // Bound the number of chunks in flight.
+        int window = 2 * pool.getParallelism();
+
+        AtomicBoolean stopped = new AtomicBoolean();
+
+        ArrayDeque<ForkJoinTask<Chunk>> scans = new ArrayDeque<>();
+
+        ArrayDeque<ForkJoinTask<List<R>>> maps = new ArrayDeque<>();
+
+        long nextIndex = 1;
+
+        long position = firstElement;
+
+        try {
+            for (long index = 0; index < chunkCount; index++) {
+                while (nextIndex < chunkCount && scans.size() < window) {
+                    long start = firstElement + nextIndex++ * chunkSize;
+
+                    Callable<Chunk> task = () -> scanSpeculatively(channel, size, start, start + chunkSize,
+                            stopped);
+
+                    scans.add(pool.submit(task));
+                }
+
+                long until = firstElement + (index + 1) * chunkSize;
+
+                Chunk chunk = index == 0 ? null : scans.remove().get();
+
+                if (chunk == null || chunk.start != position)
+                    chunk = scanSequentially(channel, size, position, position == firstElement, until);
+
+                if (chunk.error != null) {
+                    drain(maps, consumer);
+
+                    throw unwrap(chunk.error);
+                }
+
+                Chunk elements = chunk;
+
+                Callable<List<R>> task = () -> mapElements(channel, size, elements, mapper, stopped);
+
+                maps.add(pool.submit(task));
+
+                while (maps.size() > window)
+                    maps.remove().get().forEach(consumer);
+
+                position = chunk.end;
+
+                if (chunk.endOfArray) {
+                    drain(maps, consumer);
+
+                    arrayEnd(channel, position, size);
+
+                    return;
+                }
+            }
+
+            drain(maps, consumer);
+
+            unexpectedEof();
+        }
+        catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new IOException(e);
+        }
+        finally {
+            // Wait for the tasks in flight, which return early once stopped,
+            // so that none of them uses the file channel or the mapper after
+            // this method returns.
+            stopped.set(true);
+
+            for (ForkJoinTask<Chunk> task : scans)
+                task.quietlyJoin();
+
+            for (ForkJoinTask<List<R>> task : maps)
+                task.quietlyJoin();
+        }
+    }
+
+    private static <R> void drain(final ArrayDeque<ForkJoinTask<List<R>>> maps,
+            final Consumer<? super R> consumer) throws ExecutionException, InterruptedException {
+        while (!maps.isEmpty())
+            maps.remove().get().forEach(consumer);
+    }
+
+    private Chunk scanSpeculatively(final FileChannel channel, final long size, final long start,
+            final long until, final AtomicBoolean stopped) throws IOException {
+        if (stopped.get())
+            return null;
+
+        Worker worker = workers.acquire();
+
+        try {
+            return worker.scanSpeculatively(channel, size, start, until);
+        }
+        finally {
+            workers.release(worker);
+        }
+    }
+
+    private Chunk scanSequentially(final FileChannel channel, final long size, final long start,
+            final boolean first, final long until) throws IOException {
+        Worker worker = workers.acquire();
+
+        try {
+            return worker.scan(channel, size, start, first, until);
+        }
+        finally {
+            workers.release(worker);
+        }
+    }
+
+    private <R> List<R> mapElements(final FileChannel channel, final long size, final Chunk chunk,
+            final Function<? super JsonNode, ? extends R> mapper, final AtomicBoolean stopped)
+            throws IOException {
+        Worker worker = workers.acquire();
+
+        try {
+            return worker.mapElements(channel, size, chunk, mapper, stopped);
+        }
+        finally {
+            workers.release(worker);
+        }
+    }
+
+    private static long arrayStart(final FileChannel channel, final long position, final long size)
+            throws IOException {
+        long start = skipWhitespace(channel, position, size);
+        if (start == size)
+            unexpectedEof();
+
+        int ch = byteAt(channel, start);
+        if (ch != '[')
+            parseError("Expected '[' but got '" + (char)ch + "'");
+
+        return start + 1;
+    }
+
+    private static void arrayEnd(final FileChannel channel, final long position, final long size)
+            throws IOException {
+        long end = skipWhitespace(channel, position, size);
+        if (end != size)
+            parseError("Unexpected '" + (char)byteAt(channel, end) + "'");
+    }
+
+    private static long skipWhitespace(final FileChannel channel, final long position, final long size)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+
+        long offset = position;
+
+        while (offset < size) {
+            buffer.clear();
+
+            int count = channel.read(buffer, offset);
+            if (count == -1)
+                break;
+
+            for (int i = 0; i < count; i++) {
+                if (!isWhitespace(buffer.get(i) & 0xff))
+                    return offset + i;
+            }
+
+            offset += count;
+        }
+
+        return size;
+    }
+
+    private static int byteAt(final FileChannel channel, final long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+
+        if (channel.read(buffer, position) != 1)
+            unexpectedEof();
+
+        return buffer.get(0) & 0xff;
+    }
+
+    private static IOException unwrap(final Throwable cause) {
+        // A fork/join task wraps a checked exception into a runtime exception.
+        for (Throwable e = cause; e != null; e = e.getCause()) {
+            if (e instanceof IOException)
+                return (IOException)e;
+        }
+
+        if (cause instanceof RuntimeException)
+            throw (RuntimeException)cause;
+
+        if (cause instanceof Error)
+            throw (Error)cause;
+
+        return new IOException(cause);
+    }
+
+    private static boolean isWhitespace(final int ch) {
+        return ch == SP || ch == LF || ch == CR || ch == HT;
+    }
+
+    private static void unexpectedEof() throws JsonParseException {
+        throw new JsonEOFException("Unexpected end of input");
+    }
+
+    private static void parseError(final String message) throws JsonParseException {
+        throw new JsonParseException(message);
+    }
+
+    private class Worker {
+
+        private final ByteBufferJsonParser parser;
+
+        private final JsonTree tree;
+
+        private FileChannel channel;
+
+        private long size;
+
+        private MappedByteBuffer buffer;
+
+        private long bufferStart;
+
+        private int limit;
+
+        private int[] elements;
+
+        private int elementCount;
+
+        Worker(final JsonParserConfig parserConfig, final JsonTreeConfig treeConfig) {
+            parser = new ByteBufferJsonParser(parserConfig);
+
+            tree = new JsonTree(treeConfig);
+
+            elements = new int[2 * INITIAL_ELEMENT_CAPACITY];
+        }
+
+        Chunk scanSpeculatively(final FileChannel channel, final long size, final long start,
+                final long until) throws IOException {
+            map(channel, size, start, until);
+
+            try {
+                int index = 0;
+
+                while (true) {
+                    index = guess(index, (int)Math.min(until - start, limit));
+                    if (index == -1)
+                        return new Chunk(-1);
+
+                    Chunk chunk = new Chunk(start + index);
+
+                    try {
+                        scanElements(chunk, index, false, until);
+
+                        // An end of array that is not the end of input ends a
+                        // nested array, so guess again after it.
+                        if (chunk.endOfArray && !isEndOfInput((int)(chunk.end - start))) {
+                            index = (int)(chunk.end - start);
+
+                            continue;
+                        }
+                    }
+                    catch (IOException | RuntimeException e) {
+                        // The error is only reported if the guess was right.
+                        chunk.error = e;
+                    }
+
+                    return chunk;
+                }
+            }
+            finally {
+                unmap();
+            }
+        }
+
+        Chunk scan(final FileChannel channel, final long size, final long start, final boolean first,
+                final long until) throws IOException {
+            map(channel, size, start, until);
+
+            try {
+                Chunk chunk = new Chunk(start);
+
+                try {
+                    scanElements(chunk, 0, first, until);
+                }
+                catch (IOException | RuntimeException e) {
+                    // The error is reported after the results that precede it.
+                    chunk.error = e;
+                }
+
+                return chunk;
+            }
+            finally {
+                unmap();
+            }
+        }
+
+        <R> List<R> mapElements(final FileChannel channel, final long size, final Chunk chunk,
+                final Function<? super JsonNode, ? extends R> mapper, final AtomicBoolean stopped)
+                throws IOException {
+            List<R> results = new ArrayList<>(chunk.elementCount);
+
+            if (chunk.elementCount == 0 || stopped.get())
+                return results;
+
+            this.channel = channel;
+            this.size = size;
+
+            bufferStart = chunk.start;
+
+            limit = chunk.elements[2 * chunk.elementCount - 1];
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, bufferStart, limit);
+
+            try {
+                for (int i = 0; i < chunk.elementCount && !stopped.get(); i++) {
+                    buffer.limit(chunk.elements[2 * i + 1]);
+                    buffer.position(chunk.elements[2 * i]);
+
+                    parser.reset(buffer);
+
+                    results.add(mapper.apply(tree.reset(parser)));
+                }
+
+                return results;
+            }
+            finally {
+                unmap();
+            }
+        }
+
+        /*
+         * Find the elements that start before the specified position, without
+         * parsing them.
+         */
+        private void scanElements(final Chunk chunk, final int start, final boolean first,
+                final long until) throws IOException {
+            elementCount = 0;
+
+            int index = skipWhitespaceOrRemap(start);
+
+            if (first && index < limit && buffer.get(index) == ']') {
+                chunk.end = bufferStart + index + 1;
+                chunk.endOfArray = true;
+
+                return;
+            }
+
+            while (bufferStart + index < until) {
+                if (index == limit)
+                    unexpectedEof();
+
+                int end = skipValue(index);
+
+                while (end == limit && remap())
+                    end = skipValue(index);
+
+                addElement(chunk, index, end);
+
+                index = skipWhitespaceOrRemap(end);
+                if (index == limit)
+                    unexpectedEof();
+
+                int ch = buffer.get(index) & 0xff;
+
+                if (ch == ']') {
+                    chunk.end = bufferStart + index + 1;
+                    chunk.endOfArray = true;
+
+                    chunk.setElements(elements, elementCount);
+
+                    return;
+                }
+
+                if (ch != ',')
+                    parseError("Expected ',' or ']' but got '" + (char)ch + "'");
+
+                index = skipWhitespaceOrRemap(index + 1);
+            }
+
+            chunk.end = bufferStart + index;
+
+            chunk.setElements(elements, elementCount);
+        }
+
+        /*
+         * Add an element, storing its bounds relative to the start of the
+         * chunk.
+         */
+        private void addElement(final Chunk chunk, final int start, final int end) {
+            if (2 * elementCount == elements.length)
+                elements = Arrays.copyOf(elements, 2 * elements.length);
+
+            int offset = (int)(chunk.start - bufferStart);
+
+            elements[2 * elementCount] = start - offset;
+            elements[2 * elementCount + 1] = end - offset;
+
+            elementCount++;
+        }
+
+        /*
+         * Return the index of the first object that follows the end of an
+         * object and a comma, starting at or after the specified start index
+         * and before the specified end index, or -1 if there is none.
+         */
+        private int guess(final int start, final int end) {
+            for (int i = start; i < end; i++) {
+                if (buffer.get(i) != '}')
+                    continue;
+
+                int comma = skipWhitespace(i + 1);
+                if (comma == limit || buffer.get(comma) != ',')
+                    continue;
+
+                int index = skipWhitespace(comma + 1);
+                if (index < limit && buffer.get(index) == '{')
+                    return index;
+            }
+
+            return -1;
+        }
+
+        /*
+         * Return true if only whitespace follows the specified index.
+         */
+        private boolean isEndOfInput(final int start) throws IOException {
+            return skipWhitespaceOrRemap(start) == limit;
+        }
+
+        /*
+         * Return the index following the value that starts at the specified
+         * index. The value is validated by the JSON parser afterwards, but
+         * an empty value is rejected here, as the JSON parser would read it
+         * as a missing node.
+         */
+        private int skipValue(final int start) throws JsonParseException {
+            int ch = buffer.get(start) & 0xff;
+
+            if (ch == '{' || ch == '[') {
+                int depth = 0;
+
+                boolean string = false;
+
+                for (int i = start; i < limit; i++) {
+                    ch = buffer.get(i) & 0xff;
+
+                    if (string) {
+                        if (ch == '\\')
+                            i++;
+                        else if (ch == '"')
+                            string = false;
+                    }
+                    else if (ch == '"') {
+                        string = true;
+                    }
+                    else if (ch == '{' || ch == '[') {
+                        depth++;
+                    }
+                    else if (ch == '}' || ch == ']') {
+                        if (--depth == 0)
+                            return i + 1;
+                    }
+                }
+
+                return limit;
+            }
+
+            if (ch == '"') {
+                for (int i = start + 1; i < limit; i++) {
+                    ch = buffer.get(i) & 0xff;
+
+                    if (ch == '\\')
+                        i++;
+                    else if (ch == '"')
+                        return i + 1;
+                }
+
+                return limit;
+            }
+
+            int i = start;
+
+            while (i < limit) {
+                ch = buffer.get(i) & 0xff;
+                if (ch == ',' || ch == ']' || ch == '}' || isWhitespace(ch))
+                    break;
+
+                i++;
+            }
+
+            if (i == start)
+                parseError("Unexpected '" + (char)ch + "'");
+
+            return i;
+        }
+
+        private int skipWhitespace(final int start) {
+            int i = start;
+
+            while (i < limit && isWhitespace(buffer.get(i) & 0xff))
+                i++;
+
+            return i;
+        }
+
+        private int skipWhitespaceOrRemap(final int start) throws IOException {
+            int index = skipWhitespace(start);
+
+            while (index == limit && remap())
+                index = skipWhitespace(index);
+
+            return index;
+        }
+
+        private void map(final FileChannel channel, final long size, final long start, final long until)
+                throws IOException {
+            this.channel = channel;
+            this.size = size;
+
+            bufferStart = start;
+
+            // Map up to one chunk size past the end of the chunk, so that the
+            // elements that start within the chunk typically end within the
+            // mapping.
+            long length = Math.max(until - start, 0) + chunkSize;
+
+            limit = (int)Math.min(Math.min(length, size - start), Integer.MAX_VALUE);
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, bufferStart, limit);
+        }
+
+        /*
+         * Grow the mapping, keeping its start, as an element crosses its end.
+         * Return false if the mapping already extends to the end of input.
+         */
+        private boolean remap() throws IOException {
+            if (bufferStart + limit == size)
+                return false;
+
+            if (limit == Integer.MAX_VALUE)
+                parseError("Element too large");
+
+            Unmapper.unmap(buffer);
+
+            limit = (int)Math.min(Math.min(2L * limit, size - bufferStart), Integer.MAX_VALUE);
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, bufferStart, limit);
+
+            return true;
+        }
+
+        private void unmap() {
+            parser.reset(EMPTY_INPUT);
+
+            Unmapper.unmap(buffer);
+
+            buffer = null;
+
+            channel = null;
+        }
+
+    }
+
+    private static class Chunk {
+
+        final long start;
+
+        long end;
+
+        boolean endOfArray;
+
+        // The bounds of the elements relative to the start.
+        int[] elements;
+
+        int elementCount;
+
+        Exception error;
+
+        Chunk(final long start) {
+            this.start = start;
+        }
+
+        void setElements(final int[] elements, final int elementCount) {
+            this.elements = Arrays.copyOf(elements, 2 * elementCount);
+
+            this.elementCount = elementCount;
+        }
+
+    }
+
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.databind;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.fasterjson.jargon.core.ByteBufferJsonParser;
+import org.fasterjson.jargon.core.JsonParserConfig;
+import org.fasterjson.jargon.core.internal.Unmapper;
+import org.fasterjson.jargon.core.pool.ObjectPool;
+import org.fasterjson.jargon.core.pool.ObjectPoolConfig;
+
+/**
+ * <p>A parallel reader for newline-delimited JSON (NDJSON) files.</p>
+ *
+ * <p>This class splits a file into chunks of approximately the chunk size
+ * at newline boundaries and parses the chunks on a fork/join pool. Each
+ * chunk is memory-mapped and parsed in place. Each root value is read into
+ * a {@linkplain JsonTree JSON tree} and passed to a mapper on a worker
+ * thread. The mapper must not retain the JSON node, as the JSON tree is
+ * reused for the next root value.</p>
+ *
+ * <p>The results of the mapper are passed to a consumer either in file order
+ * on the calling thread or in no particular order on the worker threads.</p>
+ *
+ * <p>A root value must not span multiple lines.</p>
+ */
+public class ParallelNdjsonReader {
+
+    /**
+     * The default chunk size.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+
+    private static final ByteBuffer EMPTY_INPUT = ByteBuffer.allocate(0);
+
+    private static final int LF = 0x0a;
+
+    private static final int SCAN_BUFFER_SIZE = 4096;
+
+    private final ForkJoinPool pool;
+
+    private final int chunkSize;
+
+    private final ObjectPool<Worker> workers;
+
+    /**
+     * Construct a new instance using the common fork/join pool, the default
+     * chunk size and the default JSON tree configuration.
+     */
+    public ParallelNdjsonReader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE,
+                JsonParserConfig.newBuilder().setMultipleRootValues(true).build(),
+                JsonTreeConfig.DEFAULTS);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param pool the fork/join pool
+     * @param chunkSize the chunk size
+     * @param parserConfig the JSON parser configuration, which must enable
+     *     multiple root values
+     * @param treeConfig the JSON tree configuration
+     * @throws IllegalArgumentException if the JSON parser configuration does
+     *     not enable multiple root values
+     */
+    public ParallelNdjsonReader(final ForkJoinPool pool, final int chunkSize,
+            final JsonParserConfig parserConfig, final JsonTreeConfig treeConfig) {
+        if (!parserConfig.isMultipleRootValues())
+            throw new IllegalArgumentException("Multiple root values not enabled");
+
+        this.pool = pool;
+
+        this.chunkSize = chunkSize;
+
+        // Retain one worker for each thread in the fork/join pool.
+        this.workers = new ObjectPool<>(() -> new Worker(parserConfig, treeConfig), worker -> 0,
+                ObjectPoolConfig.newBuilder()
+                    .addSizeClass(Long.MAX_VALUE, pool.getParallelism())
+                    .build());
+    }
+
+    /**
+     * Read a file and pass the results in file order to a consumer on the
+     * calling thread. The file is read from the current position of the file
+     * channel to its end. The file channel is not closed.
+     *
+     * @param <R> the type of results
+     * @param channel the input file channel
+     * @param mapper a function that maps a root value to a result
+     * @param consumer a consumer of results
+     * @throws IOException if an I/O error occurs
+     */
+    public <R> void read(final FileChannel channel, final Function<? super JsonNode, ? extends R> mapper,
+            final Consumer<? super R> consumer) throws IOException {
+        long position = channel.position();
+        long size = channel.size();
+
+        read(position, size, index -> {
+            List<R> results = new ArrayList<>();
+
+            parseChunk(channel, position, size, index, mapper, results::add);
+
+            return results;
+        }, results -> results.forEach(consumer));
+    }
+
+    /**
+     * Read a file and pass the results in no particular order to a consumer
+     * on the worker threads. The consumer must be thread-safe. The file is
+     * read from the current position of the file channel to its end. The
+     * file channel is not closed.
+     *
+     * @param <R> the type of results
+     * @param channel the input file channel
+     * @param mapper a function that maps a root value to a result
+     * @param consumer a thread-safe consumer of results
+     * @throws IOException if an I/O error occurs
+     */
+    public <R> void readUnordered(final FileChannel channel, final Function<? super JsonNode, ? extends R> mapper,
+            final Consumer<? super R> consumer) throws IOException {
+        long position = channel.position();
+        long size = channel.size();
+
+        read(position, size, index -> {
+            parseChunk(channel, position, size, index, mapper, consumer);
+
+            return null;
+        }, results -> { });
+    }
+
+    private <C> void read(final long position, final long size, final ChunkParser<C> chunkParser,
+            final Consumer<C> chunkConsumer) throws IOException {
+        long chunkCount = (size - position + chunkSize - 1) / chunkSize;
+
+        // Bound the number of chunks in flight.
+        int window = 2 * pool.getParallelism();
+
+        AtomicBoolean stopped = new AtomicBoolean();
+
+        ArrayDeque<ForkJoinTask<C>> tasks = new ArrayDeque<>();
+
+        long nextIndex = 0;
+
+        try {
+            while (nextIndex < chunkCount || !tasks.isEmpty()) {
+                while (nextIndex < chunkCount && tasks.size() < window) {
+                    long index = nextIndex++;
+
+                    Callable<C> task = () -> stopped.get() ? null : chunkParser.parse(index);
+
+                    tasks.add(pool.submit(task));
+                }
+
+                chunkConsumer.accept(tasks.remove().get());
+            }
+        }
+        catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new IOException(e);
+        }
+        finally {
+            // Wait for the tasks in flight, which do nothing once stopped, so
+            // that none of them uses the file channel or the mapper after
+            // this method returns.
+            stopped.set(true);
+
+            for (ForkJoinTask<C> task : tasks)
+                task.quietlyJoin();
+        }
+    }
+
+    private <R> void parseChunk(final FileChannel channel, final long position, final long size,
+            final long index, final Function<? super JsonNode, ? extends R> mapper,
+            final Consumer<? super R> consumer) throws IOException {
+        Worker worker = workers.acquire();
+
+        try {
+            worker.parseChunk(channel, position, size, index, mapper, consumer);
+        }
+        finally {
+            workers.release(worker);
+        }
+    }
+
+    private static IOException unwrap(final Throwable cause) {
+        // A fork/join task wraps a checked exception into a runtime exception.
+        for (Throwable e = cause; e != null; e = e.getCause()) {
+            if (e instanceof IOException)
+                return (IOException)e;
+        }
+
+        if (cause instanceof RuntimeException)
+            throw (RuntimeException)cause;
+
+        if (cause instanceof Error)
+            throw (Error)cause;
+
+        return new IOException(cause);
+    }
+
+    private interface ChunkParser<C> {
+
+        C parse(long index) throws IOException;
+
+    }
+
+    private class Worker {
+
+        private final ByteBufferJsonParser parser;
+
+        private final JsonTree tree;
+
+        private final ByteBuffer scanBuffer;
+
+        Worker(final JsonParserConfig parserConfig, final JsonTreeConfig treeConfig) {
+            parser = new ByteBufferJsonParser(parserConfig);
+
+            tree = new JsonTree(treeConfig);
+
+            scanBuffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        }
+
+        <R> void parseChunk(final FileChannel channel, final long position, final long size,
+                final long index, final Function<? super JsonNode, ? extends R> mapper,
+                final Consumer<? super R> consumer) throws IOException {
+            // A chunk starts after the first newline preceding its nominal
+            // start, so that adjacent chunks agree on their boundary.
+            long nominalStart = position + index * chunkSize;
+            long nominalEnd = nominalStart + chunkSize;
+
+            long start = index == 0 ? position : nextLineStart(channel, nominalStart - 1, size);
+            long end = nominalEnd >= size ? size : nextLineStart(channel, nominalEnd - 1, size);
+
+            if (start >= end)
+                return;
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+
+            parser.reset(buffer);
+
+            try {
+                while (true) {
+                    JsonNode root = tree.reset(parser);
+                    if (root.isMissingNode())
+                        break;
+
+                    consumer.accept(mapper.apply(root));
+                }
+            }
+            finally {
+                parser.reset(EMPTY_INPUT);
+
+                Unmapper.unmap(buffer);
+            }
+        }
+
+        private long nextLineStart(final FileChannel channel, final long position, final long size)
+                throws IOException {
+            long offset = position;
+
+            while (offset < size) {
+                scanBuffer.clear();
+
+                int count = channel.read(scanBuffer, offset);
+                if (count == -1)
+                    break;
+
+                for (int i = 0; i < count; i++) {
+                    if (scanBuffer.get(i) == LF)
+                        return offset + i + 1;
+                }
+
+                offset += count;
+            }
+
+            return size;
+        }
+
+    }
+
+}
@@ -18,6 +18,9 @@ package org.fasterjson.jargon.databind;
 import static org.fasterjson.jargon.core.JsonToken.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import org.fasterjson.jargon.core.CharJsonParser;
+import org.fasterjson.jargon.core.JsonParseException;
+import org.fasterjson.jargon.core.io.CharArraySource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
@@ -448,6 +451,221 @@ class JsonTreeTest {
         assertMappingError("Too long string value", () -> tree.reset(parser));
     }
 
+    @Test
+    void projection() throws Exception {
+        parser.push(START_OBJECT);
+        parser.push(FIELD_NAME, "a");
+        parser.push(VALUE_NUMBER_INT, 1L);
+        parser.push(FIELD_NAME, "b");
+        parser.push(START_OBJECT);
+        parser.push(FIELD_NAME, "c");
+        parser.push(VALUE_STRING, "foo");
+        parser.push(FIELD_NAME, "d");
+        parser.push(START_ARRAY);
+        parser.push(VALUE_TRUE);
+        parser.push(START_OBJECT);
+        parser.push(END_OBJECT);
+        parser.push(END_ARRAY);
+        parser.push(END_OBJECT);
+        parser.push(FIELD_NAME, "e");
+        parser.push(START_ARRAY);
+        parser.push(VALUE_NULL);
+        parser.push(END_ARRAY);
+        parser.push(END_OBJECT);
+
+        root = tree.reset(parser, JsonProjection.of("a", "b.d"));
+
+        assertObjectNode(root);
+        assertEquals(2, root.size());
+
+        assertLongNode(root.get("a"), 1.0, 1);
+
+        assertObjectNode(root.get("b"));
+        assertEquals(1, root.get("b").size());
+        assertNull(root.get("b").get("c"));
+
+        assertArrayNode(root.get("b").get("d"));
+        assertEquals(2, root.get("b").get("d").size());
+        assertBooleanNode(root.get("b").get("d").get(0), true);
+        assertObjectNode(root.get("b").get("d").get(1));
+
+        assertNull(root.get("e"));
+    }
+
+    @Test
+    void projectionSkipsUnselectedValues() throws Exception {
+        parser.push(START_OBJECT);
+        parser.push(FIELD_NAME, "a");
+        parser.push(VALUE_STRING, "foo");
+        parser.push(FIELD_NAME, "b");
+        parser.push(VALUE_NUMBER_INT, 1L);
+        parser.push(FIELD_NAME, "c");
+        parser.push(START_OBJECT);
+        parser.push(FIELD_NAME, "b");
+        parser.push(VALUE_NUMBER_INT, 2L);
+        parser.push(END_OBJECT);
+        parser.push(END_OBJECT);
+
+        root = tree.reset(parser, JsonProjection.of("b"));
+
+        assertObjectNode(root);
+        assertEquals(1, root.size());
+
+        assertLongNode(root.get("b"), 1.0, 1);
+
+        assertNull(root.get("a"));
+        assertNull(root.get("c"));
+    }
+
+    @Test
+    void projectionRejectsInvalidUnselectedNumbers() throws Exception {
+        CharJsonParser charParser = new CharJsonParser();
+
+        CharArraySource source = new CharArraySource();
+
+        for (String number : new String[] { "-", "--1", "01", "1.", "1e", "1-2e" }) {
+            source.reset(("{\"a\":" + number + ",\"b\":1}").toCharArray());
+
+            charParser.reset(source);
+
+            assertThrows(JsonParseException.class, () -> tree.reset(charParser, JsonProjection.of("b")), number);
+        }
+    }
+
+    @Test
+    void projectionThroughArray() throws Exception {
+        parser.push(START_OBJECT);
+        parser.push(FIELD_NAME, "items");
+        parser.push(START_ARRAY);
+        parser.push(START_OBJECT);
+        parser.push(FIELD_NAME, "id");
+        parser.push(VALUE_NUMBER_INT, 1L);
+        parser.push(FIELD_NAME, "x");
+        parser.push(VALUE_NUMBER_INT, 2L);
+        parser.push(END_OBJECT);
+        parser.push(VALUE_NUMBER_INT, 3L);
+        parser.push(START_ARRAY);
+        parser.push(START_OBJECT);
+        parser.push(FIELD_NAME, "id");
+        parser.push(VALUE_NUMBER_INT, 4L);
+        parser.push(END_OBJECT);
+        parser.push(END_ARRAY);
+        parser.push(START_OBJECT);
+        parser.push(FIELD_NAME, "x");
+        parser.push(VALUE_NUMBER_INT, 5L);
+        parser.push(END_OBJECT);
+        parser.push(END_ARRAY);
+        parser.push(END_OBJECT);
+
+        root = tree.reset(parser, JsonProjection.of("items.id"));
+
+        JsonNode items = root.get("items");
+
+        assertArrayNode(items);
+        assertEquals(3, items.size());
+
+        assertEquals(1, items.get(0).size());
+        assertLongNode(items.get(0).get("id"), 1.0, 1);
+
+        assertEquals(1, items.get(1).size());
+        assertLongNode(items.get(1).get(0).get("id"), 4.0, 4);
+
+        assertObjectNode(items.get(2));
+        assertEquals(0, items.get(2).size());
+    }
+
+    @Test
+    void projectionOfWholeDocument() throws Exception {
+        parser.push(START_OBJECT);
+        parser.push(FIELD_NAME, "a");
+        parser.push(VALUE_STRING, "foo");
+        parser.push(END_OBJECT);
+
+        root = tree.reset(parser, JsonProjection.of(""));
+
+        assertObjectNode(root);
+        assertStringNode(root.get("a"), "foo");
+    }
+
+    @Test
+    void projectionOfPrefix() throws Exception {
+        parser.push(START_OBJECT);
+        parser.push(FIELD_NAME, "a");
+        parser.push(START_OBJECT);
+        parser.push(FIELD_NAME, "b");
+        parser.push(VALUE_FALSE);
+        parser.push(FIELD_NAME, "c");
+        parser.push(VALUE_NULL);
+        parser.push(END_OBJECT);
+        parser.push(END_OBJECT);
+
+        root = tree.reset(parser, JsonProjection.newBuilder()
+                .addPath("a", "b")
+                .addPath("a")
+                .build());
+
+        assertEquals(2, root.get("a").size());
+        assertBooleanNode(root.get("a").get("b"), false);
+        assertNullNode(root.get("a").get("c"));
+    }
+
+    @Test
+    void projectionOfScalarRoot() throws Exception {
+        parser.push(VALUE_TRUE);
+
+        root = tree.reset(parser, JsonProjection.of("a"));
+
+        assertMissingNode(root);
+    }
+
+    @Test
+    void projectionOfNothing() throws Exception {
+        parser.push(START_OBJECT);
+        parser.push(FIELD_NAME, "a");
+        parser.push(VALUE_TRUE);
+        parser.push(END_OBJECT);
+
+        root = tree.reset(parser, JsonProjection.newBuilder().build());
+
+        assertObjectNode(root);
+        assertEquals(0, root.size());
+    }
+
+    @Test
+    void projectionSkipsNodes() throws Exception {
+        parser.push(START_OBJECT);
+        parser.push(FIELD_NAME, "a");
+        parser.push(START_ARRAY);
+
+        for (int i = 0; i < 64; i++)
+            parser.push(VALUE_STRING, "aaaaaaaaaaaaaaaaa");
+
+        parser.push(END_ARRAY);
+        parser.push(FIELD_NAME, "b");
+        parser.push(VALUE_NULL);
+        parser.push(END_OBJECT);
+
+        root = tree.reset(parser, JsonProjection.of("b"));
+
+        assertEquals(1, root.size());
+        assertNullNode(root.get("b"));
+    }
+
+    @Test
+    void projectionWithValueWithoutFieldName() throws Exception {
+        parser.push(START_OBJECT);
+        parser.push(VALUE_TRUE);
+        parser.push(END_OBJECT);
+
+        assertMappingError("Missing field name", () -> tree.reset(parser, JsonProjection.of("a")));
+    }
+
+    @Test
+    void projectionWithEmptyFieldName() {
+        assertThrows(IllegalArgumentException.class, () -> JsonProjection.of("a..b"));
+        assertThrows(IllegalArgumentException.class, () -> JsonProjection.of("a."));
+    }
+
     private static void assertMissingNode(final JsonNode node) {
         assertTrue(node.isMissingNode());
         assertEquals(JsonNodeType.MISSING, node.getNodeType());
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.databind;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fasterjson.jargon.core.JsonParseException;
+import org.fasterjson.jargon.core.JsonParserConfig;
+import org.fasterjson.jargon.core.io.JsonEOFException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParallelArrayReaderTest {
+
+    @TempDir
+    Path directory;
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void arrayOfObjects() throws Exception {
+        String input = array(1000, i -> "{\"id\":" + i + ",\"name\":\"foo\"}", i -> ",");
+
+        for (int chunkSize : new int[] { 7, 64, 1000, 100000 })
+            assertEquals(ids(1000), read(input, chunkSize));
+    }
+
+    @Test
+    void prettyPrinted() throws Exception {
+        String input = array(1000, i -> "{\n    \"id\": " + i + ",\n    \"name\": \"foo\"\n  }", i -> ",\n  ");
+
+        for (int chunkSize : new int[] { 7, 64, 1000 })
+            assertEquals(ids(1000), read(" \n" + input + "\n", chunkSize));
+    }
+
+    @Test
+    void misleadingStrings() throws Exception {
+        String input = array(1000, i -> "{\"id\":" + i + ",\"text\":\"}, {\\\"id\\\": -1}, {\"}", i -> ",");
+
+        for (int chunkSize : new int[] { 7, 64, 1000 })
+            assertEquals(ids(1000), read(input, chunkSize));
+    }
+
+    @Test
+    void misleadingNestedArrays() throws Exception {
+        String input = array(100, i -> "{\"id\":" + i + ",\"children\":[{\"id\":-1},{\"id\":-2}]}", i -> ",");
+
+        for (int chunkSize : new int[] { 7, 64, 1000 })
+            assertEquals(ids(100), read(input, chunkSize));
+    }
+
+    @Test
+    void nestedArraysOfObjects() throws Exception {
+        String input = array(100, i -> "{\"id\":" + i + ",\"children\":[{\"id\":-1,\"children\":"
+                + "[{\"id\":-3},{\"id\":-4}]},{\"id\":-2}]}", i -> ",");
+
+        for (int chunkSize : new int[] { 7, 64, 1000 }) {
+            List<Long> mapped = Collections.synchronizedList(new ArrayList<>());
+
+            List<Long> ids = new ArrayList<>();
+
+            try (FileChannel channel = FileChannel.open(write(input))) {
+                new ParallelArrayReader(pool, chunkSize, JsonParserConfig.DEFAULTS, JsonTreeConfig.DEFAULTS)
+                    .read(channel, root -> {
+                        long id = root.get("id").longValue();
+
+                        mapped.add(id);
+
+                        return id;
+                    }, ids::add);
+            }
+
+            assertEquals(ids(100), ids);
+
+            // The mapper is applied once to each element and never to a
+            // nested object.
+            mapped.sort(null);
+
+            assertEquals(ids(100), mapped);
+        }
+    }
+
+    @Test
+    void largeElements() throws Exception {
+        String text = String.join("", Collections.nCopies(1000, "x"));
+
+        String input = array(100, i -> "{\"id\":" + i + ",\"text\":\"" + text + "\"}", i -> ",");
+
+        for (int chunkSize : new int[] { 7, 64, 1000, 100000 })
+            assertEquals(ids(100), read(input, chunkSize));
+    }
+
+    @Test
+    void arrayOfNumbers() throws Exception {
+        String input = array(1000, i -> Integer.toString(i), i -> ", ");
+
+        List<Long> values = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(write(input))) {
+            new ParallelArrayReader(pool, 64, JsonParserConfig.DEFAULTS, JsonTreeConfig.DEFAULTS)
+                .read(channel, JsonNode::longValue, values::add);
+        }
+
+        assertEquals(ids(1000), values);
+    }
+
+    @Test
+    void emptyArray() throws Exception {
+        assertEquals(Collections.emptyList(), read(" [ ] ", 1));
+    }
+
+    @Test
+    void notArray() throws Exception {
+        assertThrows(JsonParseException.class, () -> read("{}", 64));
+    }
+
+    @Test
+    void emptyFile() throws Exception {
+        assertThrows(JsonEOFException.class, () -> read("", 64));
+    }
+
+    @Test
+    void missingEndArray() throws Exception {
+        String input = array(100, i -> "{\"id\":" + i + "}", i -> ",");
+
+        assertThrows(JsonEOFException.class, () -> read(input.substring(0, input.length() - 1), 64));
+    }
+
+    @Test
+    void trailingGarbage() throws Exception {
+        String input = array(100, i -> "{\"id\":" + i + "}", i -> ",");
+
+        assertThrows(JsonParseException.class, () -> read(input + " x", 64));
+    }
+
+    @Test
+    void invalidElement() throws Exception {
+        String input = array(100, i -> i == 50 ? "{\"id\":}" : "{\"id\":" + i + "}", i -> ",");
+
+        assertThrows(JsonParseException.class, () -> read(input, 64));
+    }
+
+    @Test
+    void missingComma() throws Exception {
+        String input = array(100, i -> "{\"id\":" + i + "}", i -> i == 50 ? " " : ",");
+
+        assertThrows(JsonParseException.class, () -> read(input, 64));
+    }
+
+    @Test
+    void trailingComma() throws Exception {
+        String input = array(100, i -> "{\"id\":" + i + "}", i -> ",");
+
+        assertThrows(JsonParseException.class, () -> read("[{\"id\":1},]", 1));
+        assertThrows(JsonParseException.class, () -> read("[{\"id\":1},]", 64));
+        assertThrows(JsonParseException.class, () -> read(input.replace("]", ",]"), 64));
+    }
+
+    @Test
+    void doubleComma() throws Exception {
+        String input = array(100, i -> "{\"id\":" + i + "}", i -> i == 50 ? ",," : ",");
+
+        assertThrows(JsonParseException.class, () -> read("[{\"id\":1},,{\"id\":2}]", 64));
+        assertThrows(JsonParseException.class, () -> read(input, 64));
+    }
+
+    @Test
+    void leadingComma() throws Exception {
+        assertThrows(JsonParseException.class, () -> read("[,]", 64));
+        assertThrows(JsonParseException.class, () -> read("[,{\"id\":1}]", 64));
+    }
+
+    @Test
+    void mapperError() throws Exception {
+        String input = array(10000, i -> "{\"id\":" + i + "}", i -> ",");
+
+        AtomicInteger running = new AtomicInteger();
+
+        AtomicInteger calls = new AtomicInteger();
+
+        try (FileChannel channel = FileChannel.open(write(input))) {
+            ParallelArrayReader reader = new ParallelArrayReader(pool, 64,
+                    JsonParserConfig.DEFAULTS, JsonTreeConfig.DEFAULTS);
+
+            assertThrows(IllegalStateException.class, () -> reader.read(channel, root -> {
+                running.incrementAndGet();
+
+                try {
+                    calls.incrementAndGet();
+
+                    if (root.get("id").longValue() == 1000)
+                        throw new IllegalStateException();
+
+                    return null;
+                }
+                finally {
+                    running.decrementAndGet();
+                }
+            }, result -> { }));
+        }
+
+        // No mapper is running or starts after the reader has failed.
+        assertEquals(0, running.get());
+
+        int count = calls.get();
+
+        Thread.sleep(100);
+
+        assertEquals(count, calls.get());
+    }
+
+    private List<Long> read(final String input, final int chunkSize) throws Exception {
+        ParallelArrayReader reader = new ParallelArrayReader(pool, chunkSize,
+                JsonParserConfig.DEFAULTS, JsonTreeConfig.DEFAULTS);
+
+        List<Long> ids = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(write(input))) {
+            reader.read(channel, root -> root.get("id").longValue(), ids::add);
+        }
+
+        return ids;
+    }
+
+    private Path write(final String input) throws Exception {
+        return Files.write(directory.resolve("input.json"), input.getBytes(UTF_8));
+    }
+
+    private static String array(final int count, final Element element, final Element separator) {
+        StringBuilder array = new StringBuilder();
+
+        array.append('[');
+
+        for (int i = 0; i < count; i++) {
+            if (i > 0)
+                array.append(separator.toString(i));
+
+            array.append(element.toString(i));
+        }
+
+        array.append(']');
+
+        return array.toString();
+    }
+
+    private static List<Long> ids(final int count) {
+        List<Long> ids = new ArrayList<>();
+
+        for (long i = 0; i < count; i++)
+            ids.add(i);
+
+        return ids;
+    }
+
+    private interface Element {
+
+        String toString(int index);
+
+    }
+
+}
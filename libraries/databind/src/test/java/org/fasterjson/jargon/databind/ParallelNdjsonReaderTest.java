@@ -0,0 +1,220 @@
+/*
+ * Copyright 2021 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.databind;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fasterjson.jargon.core.JsonParseException;
+import org.fasterjson.jargon.core.JsonParserConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParallelNdjsonReaderTest {
+
+    private static final JsonParserConfig PARSER_CONFIG = JsonParserConfig.newBuilder()
+        .setMultipleRootValues(true)
+        .build();
+
+    @TempDir
+    Path directory;
+
+    private ForkJoinPool pool;
+
+    private ParallelNdjsonReader reader;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+
+        reader = new ParallelNdjsonReader(pool, 64, PARSER_CONFIG, JsonTreeConfig.DEFAULTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void ordered() throws Exception {
+        Path file = write(lines(1000, "\n"));
+
+        assertEquals(ids(1000), readOrdered(file));
+    }
+
+    @Test
+    void unordered() throws Exception {
+        Path file = write(lines(1000, "\n"));
+
+        List<Long> ids = Collections.synchronizedList(new ArrayList<>());
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            reader.readUnordered(channel, root -> root.get("id").longValue(), ids::add);
+        }
+
+        Collections.sort(ids);
+
+        assertEquals(ids(1000), ids);
+    }
+
+    @Test
+    void linesLongerThanChunks() throws Exception {
+        StringBuilder input = new StringBuilder();
+
+        for (int i = 0; i < 100; i++) {
+            input.append("{\"id\":").append(i).append(",\"text\":\"");
+
+            for (int j = 0; j < 7 * i; j++)
+                input.append('x');
+
+            input.append("\"}\n");
+        }
+
+        Path file = write(input.toString());
+
+        assertEquals(ids(100), readOrdered(file));
+    }
+
+    @Test
+    void carriageReturnsAndBlankLines() throws Exception {
+        Path file = write(lines(100, "\r\n\n"));
+
+        assertEquals(ids(100), readOrdered(file));
+    }
+
+    @Test
+    void noTrailingNewline() throws Exception {
+        String input = lines(100, "\n");
+
+        Path file = write(input.substring(0, input.length() - 1));
+
+        assertEquals(ids(100), readOrdered(file));
+    }
+
+    @Test
+    void fromPosition() throws Exception {
+        Path file = write("garbage\n" + lines(100, "\n"));
+
+        List<Long> ids = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            channel.position(8);
+
+            reader.read(channel, root -> root.get("id").longValue(), ids::add);
+        }
+
+        assertEquals(ids(100), ids);
+    }
+
+    @Test
+    void emptyFile() throws Exception {
+        Path file = write("");
+
+        assertEquals(Collections.emptyList(), readOrdered(file));
+    }
+
+    @Test
+    void parseError() throws Exception {
+        Path file = write(lines(100, "\n") + "{\"id\":}\n" + lines(100, "\n"));
+
+        assertThrows(JsonParseException.class, () -> readOrdered(file));
+    }
+
+    @Test
+    void mapperError() throws Exception {
+        Path file = write(lines(10000, "\n"));
+
+        AtomicInteger running = new AtomicInteger();
+
+        AtomicInteger calls = new AtomicInteger();
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            assertThrows(IllegalStateException.class, () -> reader.read(channel, root -> {
+                running.incrementAndGet();
+
+                try {
+                    calls.incrementAndGet();
+
+                    if (root.get("id").longValue() == 1000)
+                        throw new IllegalStateException();
+
+                    return null;
+                }
+                finally {
+                    running.decrementAndGet();
+                }
+            }, result -> { }));
+        }
+
+        // No mapper is running or starts after the reader has failed.
+        assertEquals(0, running.get());
+
+        int count = calls.get();
+
+        Thread.sleep(100);
+
+        assertEquals(count, calls.get());
+    }
+
+    @Test
+    void singleRootValueConfig() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelNdjsonReader(pool, 64,
+                    JsonParserConfig.DEFAULTS, JsonTreeConfig.DEFAULTS));
+    }
+
+    private List<Long> readOrdered(final Path file) throws Exception {
+        List<Long> ids = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            reader.read(channel, root -> root.get("id").longValue(), ids::add);
+        }
+
+        return ids;
+    }
+
+    private Path write(final String input) throws Exception {
+        return Files.write(directory.resolve("input.ndjson"), input.getBytes(UTF_8));
+    }
+
+    private static String lines(final int count, final String lineSeparator) {
+        StringBuilder lines = new StringBuilder();
+
+        for (int i = 0; i < count; i++)
+            lines.append("{\"id\":").append(i).append(",\"name\":\"foo\"}").append(lineSeparator);
+
+        return lines.toString();
+    }
+
+    private static List<Long> ids(final int count) {
+        List<Long> ids = new ArrayList<>();
+
+        for (long i = 0; i < count; i++)
+            ids.add(i);
+
+        return ids;
+    }
+
+}
@@ -17,6 +17,7 @@ package org.fasterjson.jargon.databind;
 
 import java.util.ArrayList;
 import java.util.List;
+import org.fasterjson.jargon.core.FieldMatcher;
 import org.fasterjson.jargon.core.JsonParseException;
 import org.fasterjson.jargon.core.JsonParser;
 import org.fasterjson.jargon.core.JsonToken;
@@ -69,6 +70,11 @@ class TestJsonParser implements JsonParser {
         return previousState.text;
     }
 
+    @Override
+    public int currentNameId() {
+        return -1;
+    }
+
     @Override
     public JsonToken currentToken() {
         if (currentState == null)
@@ -145,6 +151,44 @@ class TestJsonParser implements JsonParser {
         return currentState.token;
     }
 
+    @Override
+    public int nextFieldName(final FieldMatcher matcher) {
+        if (nextToken() != JsonToken.FIELD_NAME)
+            return -1;
+
+        return matcher.match(getText());
+    }
+
+    @Override
+    public JsonToken skipValue() {
+        nextToken();
+
+        skipChildren();
+
+        return currentToken();
+    }
+
+    @Override
+    public void skipChildren() {
+        JsonToken token = currentToken();
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY)
+            return;
+
+        int depth = 1;
+
+        while (depth > 0) {
+            token = nextToken();
+
+            if (token == null)
+                return;
+
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY)
+                depth++;
+            else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY)
+                depth--;
+        }
+    }
+
     private static class State {
         final JsonToken token;
         final Double doubleValue;
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.bench.jargon.core;
+
+import static java.nio.charset.StandardCharsets.*;
+
+import java.io.IOException;
+import org.fasterjson.jargon.bench.Bench;
+import org.fasterjson.jargon.core.ByteJsonParser;
+import org.fasterjson.jargon.core.FieldMatcher;
+import org.fasterjson.jargon.core.JsonParserConfig;
+import org.fasterjson.jargon.core.JsonToken;
+import org.fasterjson.jargon.core.io.ByteArraySource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+
+public class ByteJsonParserBench extends Bench {
+
+    private static final byte[] VALUE_NULL = bytes("null");
+
+    private static final byte[] VALUE_NUMBER_FLOAT = bytes("1.23");
+
+    private static final byte[] VALUE_NUMBER_INT = bytes("123");
+
+    private static final byte[] VALUE_STRING = bytes("\"foo\"");
+
+    private static final byte[] LONG_VALUE_STRING = bytes("\"" +
+            "2022-11-07T12:34:56.789Z INFO [main] o.f.j.Server - Accepted connection from " +
+            "192.168.0.1:54321, request GET /api/v1/items?limit=100&offset=200 took 12 ms" +
+            "\"");
+
+    private static final byte[] EMPTY_OBJECT = bytes("{}");
+
+    private static final byte[] NON_EMPTY_OBJECT = bytes("" +
+            "{\n" +
+            "  \"null\": null,\n" +
+            "  \"float\": 1.23,\n" +
+            "  \"int\": 123,\n" +
+            "  \"string\": \"foo\"\n" +
+            "}");
+
+    private static final byte[] MINIFIED_DOCUMENT = bytes(document(""));
+
+    private static final byte[] PRETTY_PRINTED_DOCUMENT = bytes(document("\n"));
+
+    private static final FieldMatcher FIELD_MATCHER = FieldMatcher.of("id", "name", "price", "active");
+
+    private ByteArraySource source;
+
+    private ByteJsonParser parser;
+
+    private ByteJsonParser symbolTableParser;
+
+    @Setup(Level.Iteration)
+    public void prepare() {
+        source = new ByteArraySource();
+
+        parser = new ByteJsonParser();
+
+        symbolTableParser = new ByteJsonParser(JsonParserConfig.newBuilder()
+                .setSymbolTable(true)
+                .build());
+    }
+
+    @Benchmark
+    public JsonToken valueNull() throws IOException {
+        return parse(VALUE_NULL);
+    }
+
+    @Benchmark
+    public JsonToken valueNumberFloat() throws IOException {
+        return parse(VALUE_NUMBER_FLOAT);
+    }
+
+    @Benchmark
+    public JsonToken valueNumberInt() throws IOException {
+        return parse(VALUE_NUMBER_INT);
+    }
+
+    @Benchmark
+    public JsonToken valueString() throws IOException {
+        return parse(VALUE_STRING);
+    }
+
+    @Benchmark
+    public JsonToken longValueString() throws IOException {
+        return parse(LONG_VALUE_STRING);
+    }
+
+    @Benchmark
+    public JsonToken emptyObject() throws IOException {
+        return parse(EMPTY_OBJECT);
+    }
+
+    @Benchmark
+    public JsonToken nonEmptyObject() throws IOException {
+        return parse(NON_EMPTY_OBJECT);
+    }
+
+    @Benchmark
+    public JsonToken minifiedDocument() throws IOException {
+        return parse(MINIFIED_DOCUMENT);
+    }
+
+    @Benchmark
+    public JsonToken prettyPrintedDocument() throws IOException {
+        return parse(PRETTY_PRINTED_DOCUMENT);
+    }
+
+    @Benchmark
+    public JsonToken skipPrettyPrintedDocument() throws IOException {
+        source.reset(PRETTY_PRINTED_DOCUMENT);
+        parser.reset(source);
+
+        parser.nextToken();
+        parser.skipChildren();
+
+        return parser.currentToken();
+    }
+
+    @Benchmark
+    public int fieldNames() throws IOException {
+        return fieldNames(parser);
+    }
+
+    @Benchmark
+    public int fieldNamesWithSymbolTable() throws IOException {
+        return fieldNames(symbolTableParser);
+    }
+
+    @Benchmark
+    public long dispatchFieldNames() throws IOException {
+        source.reset(MINIFIED_DOCUMENT);
+        parser.reset(source);
+
+        long sum = 0;
+
+        JsonToken token;
+
+        while ((token = parser.nextToken()) != null) {
+            if (token != JsonToken.FIELD_NAME)
+                continue;
+
+            CharSequence name = parser.currentName();
+
+            if ("id".contentEquals(name))
+                sum += 1;
+            else if ("name".contentEquals(name))
+                sum += 2;
+            else if ("price".contentEquals(name))
+                sum += 3;
+            else if ("active".contentEquals(name))
+                sum += 4;
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long dispatchFieldNamesWithFieldMatcher() throws IOException {
+        source.reset(MINIFIED_DOCUMENT);
+        parser.reset(source);
+
+        long sum = 0;
+
+        while (true) {
+            int index = parser.nextFieldName(FIELD_MATCHER);
+            if (index != -1)
+                sum += index + 1;
+            else if (parser.currentToken() == null)
+                break;
+        }
+
+        return sum;
+    }
+
+    private int fieldNames(final ByteJsonParser parser) throws IOException {
+        source.reset(MINIFIED_DOCUMENT);
+        parser.reset(source);
+
+        int hash = 0;
+
+        JsonToken token;
+
+        while ((token = parser.nextToken()) != null) {
+            if (token == JsonToken.FIELD_NAME)
+                hash += parser.currentName().toString().hashCode();
+        }
+
+        return hash;
+    }
+
+    private JsonToken parse(final byte[] input) throws IOException {
+        source.reset(input);
+        parser.reset(source);
+
+        while (parser.nextToken() != null);
+
+        return parser.currentToken();
+    }
+
+    private static byte[] bytes(final String input) {
+        return input.getBytes(UTF_8);
+    }
+
+    /*
+     * Return an array of objects. A non-empty line separator produces the
+     * output of a typical pretty printer with two-space indentation.
+     */
+    static String document(final String lineSeparator) {
+        String indent = lineSeparator.isEmpty() ? "" : "  ";
+        String space = lineSeparator.isEmpty() ? "" : " ";
+
+        StringBuilder document = new StringBuilder();
+
+        document.append('[');
+
+        for (int i = 0; i < 100; i++) {
+            if (i > 0)
+                document.append(',');
+
+            document.append(lineSeparator).append(indent).append('{');
+            document.append(lineSeparator).append(indent).append(indent)
+                .append("\"id\":").append(space).append(i).append(',');
+            document.append(lineSeparator).append(indent).append(indent)
+                .append("\"name\":").append(space).append("\"foo\"").append(',');
+            document.append(lineSeparator).append(indent).append(indent)
+                .append("\"price\":").append(space).append("1.23").append(',');
+            document.append(lineSeparator).append(indent).append(indent)
+                .append("\"active\":").append(space).append("true");
+            document.append(lineSeparator).append(indent).append('}');
+        }
+
+        document.append(lineSeparator).append(']');
+
+        return document.toString();
+    }
+
+}
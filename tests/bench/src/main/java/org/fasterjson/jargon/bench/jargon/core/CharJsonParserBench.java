@@ -26,6 +26,10 @@ import org.openjdk.jmh.annotations.Setup;
 
 public class CharJsonParserBench extends Bench {
 
+    private static final String MINIFIED_DOCUMENT = ByteJsonParserBench.document("");
+
+    private static final String PRETTY_PRINTED_DOCUMENT = ByteJsonParserBench.document("\n");
+
     private CharSequenceSource source;
 
     private CharJsonParser parser;
@@ -73,6 +77,16 @@ public class CharJsonParserBench extends Bench {
                 "}");
     }
 
+    @Benchmark
+    public JsonToken minifiedDocument() throws IOException {
+        return parse(MINIFIED_DOCUMENT);
+    }
+
+    @Benchmark
+    public JsonToken prettyPrintedDocument() throws IOException {
+        return parse(PRETTY_PRINTED_DOCUMENT);
+    }
+
     private JsonToken parse(final String input) throws IOException {
         source.reset(input);
         parser.reset(source);
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2022 Jargon authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fasterjson.jargon.bench.jargon.core;
+
+import static java.nio.charset.StandardCharsets.*;
+
+import java.io.IOException;
+import org.fasterjson.jargon.bench.Bench;
+import org.fasterjson.jargon.core.ByteJsonParser;
+import org.fasterjson.jargon.core.JsonParserConfig;
+import org.fasterjson.jargon.core.JsonToken;
+import org.fasterjson.jargon.core.io.ByteArraySource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+// The Vector API module is only added on Java 9 and later.
+@Fork(value=3, jvmArgsAppend={"-XX:+UseParallelGC", "-Xms1G", "-Xmx1G", "-XX:+IgnoreUnrecognizedVMOptions",
+        "--add-modules=jdk.incubator.vector"})
+public class StructuralIndexBench extends Bench {
+
+    private static final byte[] MINIFIED_DOCUMENT = bytes(ByteJsonParserBench.document(""));
+
+    private static final byte[] PRETTY_PRINTED_DOCUMENT = bytes(ByteJsonParserBench.document("\n"));
+
+    @Param({ "false", "true" })
+    public boolean structuralIndex;
+
+    private ByteArraySource source;
+
+    private ByteJsonParser parser;
+
+    @Setup(Level.Iteration)
+    public void prepare() {
+        source = new ByteArraySource();
+
+        parser = new ByteJsonParser(JsonParserConfig.newBuilder()
+                .setStructuralIndex(structuralIndex)
+                .build());
+    }
+
+    @Benchmark
+    public JsonToken minifiedDocument() throws IOException {
+        return parse(MINIFIED_DOCUMENT);
+    }
+
+    @Benchmark
+    public JsonToken prettyPrintedDocument() throws IOException {
+        return parse(PRETTY_PRINTED_DOCUMENT);
+    }
+
+    private JsonToken parse(final byte[] input) throws IOException {
+        source.reset(input);
+        parser.reset(source);
+
+        while (parser.nextToken() != null);
+
+        return parser.currentToken();
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(UTF_8);
+    }
+
+}
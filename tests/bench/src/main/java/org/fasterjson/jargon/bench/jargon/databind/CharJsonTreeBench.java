@@ -20,6 +20,7 @@ import org.fasterjson.jargon.bench.Bench;
 import org.fasterjson.jargon.core.CharJsonParser;
 import org.fasterjson.jargon.core.io.CharSequenceSource;
 import org.fasterjson.jargon.databind.JsonNode;
+import org.fasterjson.jargon.databind.JsonProjection;
 import org.fasterjson.jargon.databind.JsonTree;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
@@ -27,6 +28,10 @@ import org.openjdk.jmh.annotations.Setup;
 
 public class CharJsonTreeBench extends Bench {
 
+    private static final String LARGE_DOCUMENT = createLargeDocument();
+
+    private static final JsonProjection PROJECTION = JsonProjection.of("id", "meta.version");
+
     private CharSequenceSource source;
 
     private CharJsonParser parser;
@@ -55,6 +60,23 @@ public class CharJsonTreeBench extends Bench {
         return root.get("float").doubleValue() + root.get("int").longValue();
     }
 
+    @Benchmark
+    public double largeDocument() throws IOException {
+        JsonNode root = parse(LARGE_DOCUMENT);
+
+        return root.get("id").longValue() + root.get("meta").get("version").longValue();
+    }
+
+    @Benchmark
+    public double largeDocumentWithProjection() throws IOException {
+        source.reset(LARGE_DOCUMENT);
+        parser.reset(source);
+
+        JsonNode root = tree.reset(parser, PROJECTION);
+
+        return root.get("id").longValue() + root.get("meta").get("version").longValue();
+    }
+
     private JsonNode parse(final String input) throws IOException {
         source.reset(input);
         parser.reset(source);
@@ -62,4 +84,24 @@ public class CharJsonTreeBench extends Bench {
         return tree.reset(parser);
     }
 
+    private static String createLargeDocument() {
+        StringBuilder document = new StringBuilder();
+
+        document.append("{\"id\":1,\"items\":[");
+
+        for (int i = 0; i < 400; i++) {
+            if (i > 0)
+                document.append(',');
+
+            document.append("{\"sku\":\"sku-").append(i)
+                .append("\",\"qty\":").append(i)
+                .append(",\"price\":").append(i).append(".5")
+                .append(",\"tags\":[\"a\",\"b\"]}");
+        }
+
+        document.append("],\"meta\":{\"version\":2}}");
+
+        return document.toString();
+    }
+
 }